@@ -1,10 +1,12 @@
 package fooTalent.flowik.clients.controller;
 
+import fooTalent.flowik.clients.dto.ClientList;
 import fooTalent.flowik.clients.dto.ClientRegister;
 import fooTalent.flowik.clients.dto.ClientResponse;
 import fooTalent.flowik.clients.dto.ClientUpdate;
 import fooTalent.flowik.clients.entities.Client;
 import fooTalent.flowik.clients.repositories.ClientRepository;
+import fooTalent.flowik.clients.services.ClientBalanceService;
 import fooTalent.flowik.clients.services.ClientService;
 import fooTalent.flowik.config.SecurityUtil;
 import fooTalent.flowik.exceptions.ResourceNotFoundException;
@@ -20,7 +22,6 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @AllArgsConstructor
@@ -29,6 +30,7 @@ public class ClientController {
     private final ClientService clientService;
     private final UserRepository userRepository;
     private final ClientRepository clientRepository;
+    private final ClientBalanceService clientBalanceService;
 
     @Operation(summary = "Registrar un nuevo Cliente")
     @PostMapping("/createclient")
@@ -57,15 +59,10 @@ public class ClientController {
 
     @Operation(summary = "Lista todos los Clientes",
     description = "Necesita ingresar el id de usuario, por cuestiones de privacidad y seguridad")@GetMapping
-    public ResponseEntity<List<ClientResponse>> getAllClients() {
+    public ResponseEntity<List<ClientList>> getAllClients() {
         String email = SecurityUtil.getAuthenticatedEmail();
 
-        List<ClientResponse> clients = clientService.getAllClient().stream()
-                .filter(client -> email.equals(client.getCreatedBy()))
-                .map(ClientResponse::new)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(clients);
+        return ResponseEntity.ok(clientBalanceService.getClientListByUser(email));
     }
     @Operation(summary = "Modificar un cliente por id")
     @PutMapping("/{id_client}")
@@ -0,0 +1,7 @@
+package fooTalent.flowik.clients.dto;
+
+public record ClientDocument(
+        Long clientId,
+        String document
+) {
+}
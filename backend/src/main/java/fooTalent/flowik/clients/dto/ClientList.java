@@ -1,11 +1,9 @@
 package fooTalent.flowik.clients.dto;
 
-import fooTalent.flowik.clients.entities.Client;
-import fooTalent.flowik.debts.dto.DebtResponse;
-
+import fooTalent.flowik.debts.enums.StatusDebt;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
 
 public record ClientList(
         Long id_client,
@@ -17,22 +15,11 @@ public record ClientList(
         LocalDate ingress_date,
         String notes,
         boolean isActive,
-        List<DebtResponse> debts
+        BigDecimal totalDebt,
+        BigDecimal totalPaid,
+        BigDecimal balance,
+        Integer openDebts,
+        LocalDate oldestOpenDebtDate,
+        StatusDebt worstStatus
 ) {
-
-    public ClientList(Client cl){this(
-            cl.getId_client(),
-            cl.getName_client(),
-            cl.getDocument_type(),
-            cl.getTelephone_client(),
-            cl.getDirection_client(),
-            cl.getEmail_client(),
-            cl.getIngress_date(),
-            cl.getNotes(),
-            cl.getIsActive(),
-            cl.getDebts().stream()
-                    .map(DebtResponse::new)
-                    .toList()
-            );
-    }
 }
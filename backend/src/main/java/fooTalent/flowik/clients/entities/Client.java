@@ -19,7 +19,9 @@ import java.util.List;
 @AllArgsConstructor
 @Data
 @Entity
-@Table(name= "client")
+@Table(name= "client", indexes = {
+        @Index(name = "idx_client_created_by", columnList = "created_by")
+})
 public class Client {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
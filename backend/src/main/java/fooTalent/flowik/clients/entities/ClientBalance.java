@@ -0,0 +1,51 @@
+package fooTalent.flowik.clients.entities;
+
+import fooTalent.flowik.debts.enums.StatusDebt;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "client_balance", indexes = {
+        @Index(name = "idx_client_balance_created_by", columnList = "created_by")
+})
+public class ClientBalance {
+
+    @Id
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Column(nullable = false, name = "created_by", length = 150)
+    private String createdBy;
+
+    @Column(nullable = false, name = "total_debt", precision = 12, scale = 2)
+    private BigDecimal totalDebt;
+
+    @Column(nullable = false, name = "total_paid", precision = 12, scale = 2)
+    private BigDecimal totalPaid;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal balance;
+
+    @Column(nullable = false, name = "open_debts")
+    private int openDebts;
+
+    @Column(name = "oldest_open_debt_date")
+    private LocalDate oldestOpenDebtDate;
+
+    @Column(name = "worst_status", length = 20)
+    @Enumerated(EnumType.STRING)
+    private StatusDebt worstStatus;
+
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+}
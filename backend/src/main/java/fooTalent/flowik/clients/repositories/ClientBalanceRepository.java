@@ -0,0 +1,63 @@
+package fooTalent.flowik.clients.repositories;
+
+import fooTalent.flowik.clients.dto.ClientList;
+import fooTalent.flowik.clients.entities.ClientBalance;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ClientBalanceRepository extends JpaRepository<ClientBalance, Long> {
+
+    String REFRESH_BALANCES = "INSERT INTO client_balance (client_id, created_by, total_debt, total_paid, balance, " +
+            "open_debts, oldest_open_debt_date, worst_status, updated_at) " +
+            "SELECT * FROM (SELECT c.id_client AS client_id, c.created_by AS created_by, " +
+            "COALESCE(SUM(d.mount), 0) AS total_debt, COALESCE(SUM(d.paid_amount), 0) AS total_paid, " +
+            "COALESCE(SUM(d.remaining), 0) AS balance, COUNT(CASE WHEN d.remaining > 0 THEN 1 END) AS open_debts, " +
+            "MIN(CASE WHEN d.remaining > 0 THEN d.creation_date END) AS oldest_open_debt_date, " +
+            "CASE MAX(CASE d.status WHEN 'Critico' THEN 4 WHEN 'Atrasado' THEN 3 WHEN 'Impago' THEN 2 " +
+            "WHEN 'Parcial' THEN 1 WHEN 'Pagado' THEN 0 END) " +
+            "WHEN 4 THEN 'Critico' WHEN 3 THEN 'Atrasado' WHEN 2 THEN 'Impago' WHEN 1 THEN 'Parcial' " +
+            "WHEN 0 THEN 'Pagado' END AS worst_status, NOW() AS updated_at " +
+            "FROM client c LEFT JOIN debt d ON d.client_id = c.id_client AND d.is_active = true ";
+
+    String ON_DUPLICATE = " GROUP BY c.id_client, c.created_by) AS new " +
+            "ON DUPLICATE KEY UPDATE total_debt = new.total_debt, total_paid = new.total_paid, " +
+            "balance = new.balance, open_debts = new.open_debts, " +
+            "oldest_open_debt_date = new.oldest_open_debt_date, worst_status = new.worst_status, " +
+            "updated_at = new.updated_at";
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = REFRESH_BALANCES + "WHERE c.id_client IN (:clientIds)" + ON_DUPLICATE, nativeQuery = true)
+    int refresh(@Param("clientIds") List<Long> clientIds);
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = REFRESH_BALANCES + "WHERE NOT EXISTS (SELECT 1 FROM client_balance b " +
+            "WHERE b.client_id = c.id_client)" + ON_DUPLICATE, nativeQuery = true)
+    int refreshMissing();
+
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = REFRESH_BALANCES + "WHERE c.id_client IN (SELECT a.client_id FROM debt a " +
+            "WHERE a.aged_at = :agedAt)" + ON_DUPLICATE, nativeQuery = true)
+    int refreshAgedAt(@Param("agedAt") LocalDateTime agedAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ClientBalance b WHERE b.clientId = :clientId")
+    int deleteByClientId(@Param("clientId") Long clientId);
+
+    @Query("SELECT new fooTalent.flowik.clients.dto.ClientList(c.id_client, c.name_client, c.document_type, " +
+            "c.telephone_client, c.direction_client, c.email_client, c.ingress_date, c.notes, c.isActive, " +
+            "COALESCE(b.totalDebt, 0.00bd), COALESCE(b.totalPaid, 0.00bd), COALESCE(b.balance, 0.00bd), " +
+            "COALESCE(b.openDebts, 0), b.oldestOpenDebtDate, b.worstStatus) " +
+            "FROM Client c LEFT JOIN ClientBalance b ON b.clientId = c.id_client " +
+            "WHERE c.createdBy = :email ORDER BY c.name_client")
+    List<ClientList> findClientListByCreatedBy(@Param("email") String email);
+}
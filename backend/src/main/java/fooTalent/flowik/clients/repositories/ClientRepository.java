@@ -1,16 +1,25 @@
 package fooTalent.flowik.clients.repositories;
 
+import fooTalent.flowik.clients.dto.ClientDocument;
 import fooTalent.flowik.clients.entities.Client;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ClientRepository extends JpaRepository<Client, Long> {
     List<Client> findByCreatedBy(String email);
 
+    @Query("SELECT c.id_client FROM Client c WHERE c.createdBy = :email AND c.id_client IN :ids")
+    List<Long> findOwnedIds(@Param("ids") Collection<Long> ids, @Param("email") String email);
+
+    @Query("SELECT new fooTalent.flowik.clients.dto.ClientDocument(c.id_client, c.document_type) FROM Client c " +
+            "WHERE c.createdBy = :email AND c.document_type IN :documents")
+    List<ClientDocument> findByDocuments(@Param("documents") Collection<String> documents, @Param("email") String email);
+
     @Query(value = "SELECT * FROM client WHERE document_type = :dni", nativeQuery = true)
     Optional<Client> findByDni(@Param("dni") String document_type);
 
@@ -0,0 +1,46 @@
+package fooTalent.flowik.clients.services;
+
+import fooTalent.flowik.clients.dto.ClientList;
+import fooTalent.flowik.clients.repositories.ClientBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ClientBalanceService {
+
+    private static final int REFRESH_CHUNK = 500;
+
+    private final ClientBalanceRepository clientBalanceRepository;
+
+    public void refresh(Long clientId) {
+        clientBalanceRepository.refresh(List.of(clientId));
+    }
+
+    public void refresh(Collection<Long> clientIds) {
+        List<Long> ids = List.copyOf(clientIds);
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK) {
+            clientBalanceRepository.refresh(ids.subList(from, Math.min(from + REFRESH_CHUNK, ids.size())));
+        }
+    }
+
+    public void refreshAgedAt(LocalDateTime agedAt) {
+        clientBalanceRepository.refreshAgedAt(agedAt);
+    }
+
+    public void delete(Long clientId) {
+        clientBalanceRepository.deleteByClientId(clientId);
+    }
+
+    public void refreshMissing() {
+        clientBalanceRepository.refreshMissing();
+    }
+
+    public List<ClientList> getClientListByUser(String email) {
+        return clientBalanceRepository.findClientListByCreatedBy(email);
+    }
+}
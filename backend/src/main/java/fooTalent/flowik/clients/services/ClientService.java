@@ -10,6 +10,8 @@ public interface ClientService {
     Client createClient(Client client);
     List<Client> getAllClient();
 
+    List<Client> getAllClientByUser(String email);
+
     Client getClientbyId(Long id);
 
     boolean existClient(Long id);
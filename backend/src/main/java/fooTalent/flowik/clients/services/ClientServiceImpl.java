@@ -20,6 +20,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ClientServiceImpl implements ClientService {
     private final ClientRepository clientRepository;
+    private final ClientBalanceService clientBalanceService;
 
     @Override
     public Client createClient(Client client){
@@ -29,6 +30,7 @@ public class ClientServiceImpl implements ClientService {
         return clientRepository.save(client);
         }
 
+    @Override
     public List<Client> getAllClientByUser(String email) {
         return clientRepository.findByCreatedBy(email);
     }
@@ -137,10 +139,12 @@ public class ClientServiceImpl implements ClientService {
     }
 
     @Override
+    @Transactional
     public void deleteclient(Long id) {
         if (!clientRepository.existsById(id)) {
             throw new RuntimeException("Cliente no encontrado para eliminar");
         }
+        clientBalanceService.delete(id);
         clientRepository.deleteById(id);
     }
 
@@ -0,0 +1,30 @@
+package fooTalent.flowik.config;
+
+import fooTalent.flowik.exceptions.ForbiddenException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class AdminAccess {
+
+    private final Set<String> adminEmails;
+
+    public AdminAccess(@Value("${flowik.admin-emails:}") List<String> adminEmails) {
+        this.adminEmails = adminEmails.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    public void requireAdmin() {
+        String email = SecurityUtil.getAuthenticatedEmail();
+        if (!adminEmails.contains(email.toLowerCase(Locale.ROOT))) {
+            throw new ForbiddenException("Solo un administrador puede realizar esta acción.");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package fooTalent.flowik.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class IdSequenceAligner {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "product_seq", "product",
+            "payments_seq", "payments",
+            "notification_seq", "notification",
+            "debt_seq", "debt"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void align() {
+        SEQUENCES.forEach((sequence, table) -> jdbcTemplate.update(
+                "UPDATE " + sequence + " SET next_val = GREATEST(next_val, " +
+                        "(SELECT COALESCE(MAX(id), 0) + " + (ALLOCATION_SIZE + 1) + " FROM " + table + "))"));
+    }
+}
@@ -1,15 +1,27 @@
 package fooTalent.flowik.debts.controller;
 
 import fooTalent.flowik.config.SecurityUtil;
+import fooTalent.flowik.debts.dto.AgingReport;
+import fooTalent.flowik.debts.dto.DebtBatchRequest;
+import fooTalent.flowik.debts.dto.DebtBatchResponse;
 import fooTalent.flowik.debts.dto.DebtRegister;
 import fooTalent.flowik.debts.dto.DebtResponse;
+import fooTalent.flowik.debts.services.DebtBatchService;
 import fooTalent.flowik.debts.services.DebtService;
+import fooTalent.flowik.exceptions.util.FileParseException;
+import fooTalent.flowik.products.services.FileParserService;
+import fooTalent.flowik.products.services.TableRowCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,6 +30,8 @@ import java.util.List;
 public class DebtController {
 
     private final DebtService debtService;
+    private final DebtBatchService debtBatchService;
+    private final FileParserService fileParserService;
 
     @Operation(summary = "Crear una nueva deuda para un cliente")
     @PostMapping("/{clientId}")
@@ -27,6 +41,33 @@ public class DebtController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Registrar deudas en lote para varios clientes; devuelve el resultado de cada fila")
+    @PostMapping("/batch")
+    public ResponseEntity<DebtBatchResponse> createDebts(@RequestBody @Valid DebtBatchRequest request) {
+        String email = SecurityUtil.getAuthenticatedEmail();
+        return ResponseEntity.ok(debtBatchService.createDebts(request.debts(), email));
+    }
+
+    @Operation(summary = "Registrar deudas en lote desde un archivo CSV o Excel con columnas de cliente y monto")
+    @PostMapping(path = "/batch/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<DebtBatchResponse> uploadDebts(@RequestPart("documents") MultipartFile documents) throws IOException {
+        if (documents == null || documents.isEmpty()) {
+            throw new FileParseException("El archivo no fue enviado o está vacío");
+        }
+        String email = SecurityUtil.getAuthenticatedEmail();
+        try (TableRowCursor cursor = fileParserService.openCursor(documents)) {
+            return ResponseEntity.ok(debtBatchService.createDebts(cursor, email));
+        }
+    }
+
+    @Operation(summary = "Antigüedad de saldos por cliente en tramos de 0-30, 31-60, 61-90 y más de 90 días")
+    @GetMapping("/aging")
+    public ResponseEntity<AgingReport> getAgingReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        String email = SecurityUtil.getAuthenticatedEmail();
+        return ResponseEntity.ok(debtService.getAgingReport(email, asOf));
+    }
+
     @Operation(summary = "Obtener todas las deudas de un cliente")
     @GetMapping("/{idClient}")
     public ResponseEntity<List<DebtResponse>> getAllDebtClient(@PathVariable("idClient") Long idClient) {
@@ -0,0 +1,15 @@
+package fooTalent.flowik.debts.dto;
+
+import java.math.BigDecimal;
+
+public record AgingClientRow(
+        Long clientId,
+        String clientName,
+        long openDebts,
+        BigDecimal bucket0To30,
+        BigDecimal bucket31To60,
+        BigDecimal bucket61To90,
+        BigDecimal bucketOver90,
+        BigDecimal total
+) {
+}
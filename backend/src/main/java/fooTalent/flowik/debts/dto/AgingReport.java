@@ -0,0 +1,34 @@
+package fooTalent.flowik.debts.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+public record AgingReport(
+        LocalDate asOf,
+        List<AgingClientRow> clients,
+        long openDebts,
+        BigDecimal bucket0To30,
+        BigDecimal bucket31To60,
+        BigDecimal bucket61To90,
+        BigDecimal bucketOver90,
+        BigDecimal total
+) {
+    public AgingReport(LocalDate asOf, List<AgingClientRow> clients) {
+        this(
+                asOf,
+                clients,
+                clients.stream().mapToLong(AgingClientRow::openDebts).sum(),
+                sum(clients, AgingClientRow::bucket0To30),
+                sum(clients, AgingClientRow::bucket31To60),
+                sum(clients, AgingClientRow::bucket61To90),
+                sum(clients, AgingClientRow::bucketOver90),
+                sum(clients, AgingClientRow::total)
+        );
+    }
+
+    private static BigDecimal sum(List<AgingClientRow> clients, Function<AgingClientRow, BigDecimal> bucket) {
+        return clients.stream().map(bucket).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
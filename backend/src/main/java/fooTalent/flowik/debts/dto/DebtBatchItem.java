@@ -0,0 +1,13 @@
+package fooTalent.flowik.debts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+public record DebtBatchItem(
+        @Schema(example = "12")
+        Long clientId,
+        @Schema(example = "1500.00")
+        BigDecimal mount
+) {
+}
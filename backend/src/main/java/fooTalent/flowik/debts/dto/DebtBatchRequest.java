@@ -0,0 +1,13 @@
+package fooTalent.flowik.debts.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record DebtBatchRequest(
+        @NotEmpty(message = "Debe enviar al menos una deuda.")
+        @Size(max = 50000, message = "No se pueden registrar más de 50000 deudas por solicitud.")
+        List<DebtBatchItem> debts
+) {
+}
@@ -0,0 +1,11 @@
+package fooTalent.flowik.debts.dto;
+
+import java.util.List;
+
+public record DebtBatchResponse(
+        int received,
+        int created,
+        int rejected,
+        List<DebtBatchResult> results
+) {
+}
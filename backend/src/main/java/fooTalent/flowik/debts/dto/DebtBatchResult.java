@@ -0,0 +1,12 @@
+package fooTalent.flowik.debts.dto;
+
+import java.math.BigDecimal;
+
+public record DebtBatchResult(
+        int row,
+        Long clientId,
+        BigDecimal mount,
+        Long debtId,
+        String error
+) {
+}
@@ -11,6 +11,8 @@ import java.util.List;
 public record DebtResponse(
         LocalDate debt_date,
         BigDecimal mount,
+        BigDecimal paidAmount,
+        BigDecimal remaining,
         StatusDebt status,
         List<PaymentResponse> payments
 )
@@ -19,6 +21,8 @@ public record DebtResponse(
         this(
                 debt.getDebt_date(),
                 debt.getMount(),
+                debt.getPaidAmount(),
+                debt.getRemaining(),
                 debt.getStatus(),
                 debt.getPayments().stream()
                         .map(PaymentResponse::new)
@@ -11,6 +11,7 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,11 +19,17 @@ import java.util.List;
 @AllArgsConstructor
 @Data
 @Entity
-@Table(name = "debt")
+@Table(name = "debt", indexes = {
+        @Index(name = "idx_debt_active_status", columnList = "is_active, status, id"),
+        @Index(name = "idx_debt_client_open", columnList = "client_id, is_active, remaining, creation_date"),
+        @Index(name = "idx_debt_aging", columnList = "created_by, is_active, client_id, creation_date, remaining"),
+        @Index(name = "idx_debt_aged_at", columnList = "aged_at, client_id")
+})
 public class Debt {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "debt_seq")
+    @SequenceGenerator(name = "debt_seq", sequenceName = "debt_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "creationDate")
@@ -32,6 +39,12 @@ public class Debt {
     @Column(precision = 10, scale = 2)
     private BigDecimal mount = BigDecimal.ZERO;
 
+    @Column(name = "paid_amount", precision = 10, scale = 2)
+    private BigDecimal paidAmount = BigDecimal.ZERO;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal remaining;
+
     @Column(name = "overdue_Debt")
     private Integer overdueDebt;
 
@@ -42,6 +55,9 @@ public class Debt {
     @Enumerated(EnumType.STRING)
     private StatusDebt status;
 
+    @Column(name = "aged_at")
+    private LocalDateTime agedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
@@ -73,5 +89,11 @@ public class Debt {
         if(this.criticalDebt == null){
             this.criticalDebt = 60;
         }
+        if(this.paidAmount == null){
+            this.paidAmount = BigDecimal.ZERO;
+        }
+        if(this.remaining == null){
+            this.remaining = this.mount.subtract(this.paidAmount);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package fooTalent.flowik.debts.repositories;
+
+import java.math.BigDecimal;
+
+public interface AgingBalance {
+
+    Long getClientId();
+
+    String getClientName();
+
+    Long getOpenDebts();
+
+    BigDecimal getBucket0To30();
+
+    BigDecimal getBucket31To60();
+
+    BigDecimal getBucket61To90();
+
+    BigDecimal getBucketOver90();
+
+    BigDecimal getTotal();
+}
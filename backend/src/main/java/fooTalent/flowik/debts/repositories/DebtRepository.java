@@ -2,13 +2,61 @@ package fooTalent.flowik.debts.repositories;
 
 
 import fooTalent.flowik.debts.entities.Debt;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface DebtRepository extends JpaRepository<Debt, Long> {
     @Query("SELECT CASE WHEN COUNT(d) > 0 THEN true ELSE false END " +
             "FROM Debt d WHERE d.client.id_client = :clientId AND d.isActive = true")
     boolean existsActiveDebtByClientId(@Param("clientId") long clientId);
-}
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Debt d WHERE d.client.id_client = :clientId AND d.isActive = true " +
+            "AND d.remaining > 0 ORDER BY d.debt_date, d.id")
+    List<Debt> findOpenDebtsForUpdate(@Param("clientId") long clientId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE debt d SET d.paid_amount = COALESCE((SELECT SUM(p.payment_mount) FROM payments p " +
+            "WHERE p.debt_id = d.id), 0), d.remaining = d.mount - d.paid_amount " +
+            "WHERE d.remaining IS NULL", nativeQuery = true)
+    int initializeBalances();
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE debt SET status = CASE WHEN DATEDIFF(:today, creation_date) >= critical_debt " +
+            "THEN 'Critico' ELSE 'Atrasado' END, aged_at = :agedAt " +
+            "WHERE is_active = true AND ((status IN ('Impago', 'Parcial', 'Atrasado') " +
+            "AND DATEDIFF(:today, creation_date) >= critical_debt) " +
+            "OR (status IN ('Impago', 'Parcial') AND DATEDIFF(:today, creation_date) >= overdue_debt))",
+            nativeQuery = true)
+    int markAgedDebts(@Param("today") LocalDate today, @Param("agedAt") LocalDateTime agedAt);
+
+    @Query(value = "SELECT c.id_client AS clientId, c.name_client AS clientName, COUNT(*) AS openDebts, " +
+            "SUM(CASE WHEN b.creation_date >= :cutoff30 THEN b.balance ELSE 0 END) AS bucket0To30, " +
+            "SUM(CASE WHEN b.creation_date < :cutoff30 AND b.creation_date >= :cutoff60 THEN b.balance ELSE 0 END) AS bucket31To60, " +
+            "SUM(CASE WHEN b.creation_date < :cutoff60 AND b.creation_date >= :cutoff90 THEN b.balance ELSE 0 END) AS bucket61To90, " +
+            "SUM(CASE WHEN b.creation_date < :cutoff90 THEN b.balance ELSE 0 END) AS bucketOver90, " +
+            "SUM(b.balance) AS total " +
+            "FROM (SELECT d.client_id, d.creation_date, d.mount - COALESCE(SUM(p.payment_mount), 0) AS balance " +
+            "FROM debt d LEFT JOIN payments p ON p.debt_id = d.id AND p.date_payment <= :asOf " +
+            "WHERE d.created_by = :email AND d.is_active = true AND d.creation_date <= :asOf " +
+            "GROUP BY d.id, d.client_id, d.creation_date, d.mount) b " +
+            "JOIN client c ON c.id_client = b.client_id " +
+            "WHERE b.balance > 0 " +
+            "GROUP BY c.id_client, c.name_client ORDER BY total DESC", nativeQuery = true)
+    List<AgingBalance> agingByClient(@Param("email") String email,
+                                       @Param("asOf") LocalDate asOf,
+                                       @Param("cutoff30") LocalDate cutoff30,
+                                       @Param("cutoff60") LocalDate cutoff60,
+                                       @Param("cutoff90") LocalDate cutoff90);
+}
@@ -0,0 +1,184 @@
+package fooTalent.flowik.debts.services;
+
+import fooTalent.flowik.clients.repositories.ClientRepository;
+import fooTalent.flowik.clients.services.ClientBalanceService;
+import fooTalent.flowik.debts.dto.DebtBatchItem;
+import fooTalent.flowik.debts.dto.DebtBatchResponse;
+import fooTalent.flowik.debts.dto.DebtBatchResult;
+import fooTalent.flowik.debts.entities.Debt;
+import fooTalent.flowik.debts.enums.StatusDebt;
+import fooTalent.flowik.debts.repositories.DebtRepository;
+import fooTalent.flowik.exceptions.BadRequestException;
+import fooTalent.flowik.exceptions.util.FileParseException;
+import fooTalent.flowik.products.dto.TableRow;
+import fooTalent.flowik.products.services.TableRowCursor;
+import fooTalent.flowik.products.services.TableValues;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class DebtBatchService {
+
+    private static final int MAX_ROWS = 50000;
+    private static final int INSERT_CHUNK = 1000;
+    private static final BigDecimal MIN_MOUNT = new BigDecimal("0.01");
+    private static final int MAX_MOUNT_DIGITS = 8;
+    private static final Set<String> CLIENT_HEADERS = Set.of("clientid", "idclient", "idcliente", "cliente");
+    private static final Set<String> MOUNT_HEADERS = Set.of("mount", "monto", "deuda");
+
+    private final DebtRepository debtRepository;
+    private final ClientRepository clientRepository;
+    private final ClientBalanceService clientBalanceService;
+    private final TransactionTemplate transactionTemplate;
+
+    public DebtBatchResponse createDebts(List<DebtBatchItem> items, String email) {
+        List<Row> rows = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            DebtBatchItem item = items.get(i);
+            rows.add(item == null
+                    ? new Row(i, i + 1, null, null, "La fila está vacía.")
+                    : new Row(i, i + 1, item.clientId(), item.mount(), null));
+        }
+        return register(rows, email);
+    }
+
+    public DebtBatchResponse createDebts(TableRowCursor cursor, String email) {
+        int clientColumn = TableValues.column(cursor.headers(), CLIENT_HEADERS);
+        int mountColumn = TableValues.column(cursor.headers(), MOUNT_HEADERS);
+        if (clientColumn < 0 || mountColumn < 0) {
+            throw new FileParseException("El archivo debe tener una columna de cliente y una de monto.");
+        }
+
+        List<Row> rows = new ArrayList<>();
+        while (cursor.hasNext()) {
+            if (rows.size() == MAX_ROWS) {
+                throw new BadRequestException("No se pueden registrar más de " + MAX_ROWS + " deudas por archivo.");
+            }
+            TableRow tableRow = cursor.next();
+            rows.add(parseRow(rows.size(), tableRow, clientColumn, mountColumn));
+        }
+        if (rows.isEmpty()) {
+            throw new FileParseException("El archivo no contiene deudas para registrar.");
+        }
+        return register(rows, email);
+    }
+
+    private DebtBatchResponse register(List<Row> rows, String email) {
+        Set<Long> requestedIds = new HashSet<>();
+        rows.forEach(row -> {
+            if (row.clientId() != null) requestedIds.add(row.clientId());
+        });
+        Set<Long> ownedIds = requestedIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(clientRepository.findOwnedIds(requestedIds, email));
+
+        DebtBatchResult[] results = new DebtBatchResult[rows.size()];
+        List<Row> pending = new ArrayList<>(INSERT_CHUNK);
+        Set<Long> touchedClients = new HashSet<>();
+        int created = 0;
+
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                String error = row.error() != null ? row.error() : validate(row, ownedIds);
+                if (error != null) {
+                    results[i] = new DebtBatchResult(row.number(), row.clientId(), row.mount(), null, error);
+                    continue;
+                }
+                pending.add(row);
+                touchedClients.add(row.clientId());
+                if (pending.size() == INSERT_CHUNK) {
+                    created += insert(pending, results);
+                }
+            }
+            created += insert(pending, results);
+        } finally {
+            clientBalanceService.refresh(touchedClients);
+        }
+        return new DebtBatchResponse(rows.size(), created, rows.size() - created, List.of(results));
+    }
+
+    private int insert(List<Row> pending, DebtBatchResult[] results) {
+        if (pending.isEmpty()) return 0;
+
+        int count;
+        try {
+            List<Debt> saved = transactionTemplate.execute(status ->
+                    debtRepository.saveAll(pending.stream().map(this::toDebt).toList()));
+            for (int i = 0; i < pending.size(); i++) {
+                Row row = pending.get(i);
+                results[row.index()] = new DebtBatchResult(row.number(), row.clientId(), row.mount(),
+                        saved.get(i).getId(), null);
+            }
+            count = pending.size();
+        } catch (RuntimeException e) {
+            count = insertOneByOne(pending, results);
+        }
+        pending.clear();
+        return count;
+    }
+
+    private int insertOneByOne(List<Row> pending, DebtBatchResult[] results) {
+        int count = 0;
+        for (Row row : pending) {
+            try {
+                Debt saved = transactionTemplate.execute(status -> debtRepository.save(toDebt(row)));
+                results[row.index()] = new DebtBatchResult(row.number(), row.clientId(), row.mount(),
+                        saved.getId(), null);
+                count++;
+            } catch (RuntimeException e) {
+                results[row.index()] = new DebtBatchResult(row.number(), row.clientId(), row.mount(), null,
+                        "No se pudo registrar la deuda.");
+            }
+        }
+        return count;
+    }
+
+    private Debt toDebt(Row row) {
+        Debt debt = new Debt();
+        debt.setClient(clientRepository.getReferenceById(row.clientId()));
+        debt.setMount(row.mount());
+        debt.setStatus(StatusDebt.Impago);
+        debt.setIsActive(true);
+        return debt;
+    }
+
+    private String validate(Row row, Set<Long> ownedIds) {
+        if (row.clientId() == null) return "El cliente es obligatorio.";
+        if (!ownedIds.contains(row.clientId())) return "Cliente no encontrado.";
+        if (row.mount() == null) return "El monto es obligatorio.";
+        if (row.mount().compareTo(MIN_MOUNT) < 0) return "La Deuda debe ser mayor o igual a 0.01.";
+        if (row.mount().stripTrailingZeros().scale() > 2) return "El monto admite como máximo 2 decimales.";
+        if (row.mount().precision() - row.mount().scale() > MAX_MOUNT_DIGITS) {
+            return "El monto no puede superar 99.999.999,99.";
+        }
+        return null;
+    }
+
+    private Row parseRow(int index, TableRow tableRow, int clientColumn, int mountColumn) {
+        String client = TableValues.cell(tableRow, clientColumn);
+        String mount = TableValues.cell(tableRow, mountColumn);
+        Long clientId;
+        try {
+            clientId = client.isEmpty() ? null : Long.valueOf(client);
+        } catch (NumberFormatException e) {
+            return new Row(index, tableRow.number(), null, null, "Cliente inválido: " + client);
+        }
+        BigDecimal amount = mount.isEmpty() ? null : TableValues.parseDecimal(mount);
+        if (!mount.isEmpty() && amount == null) {
+            return new Row(index, tableRow.number(), clientId, null, "Monto inválido: " + mount);
+        }
+        return new Row(index, tableRow.number(), clientId, amount, null);
+    }
+
+    private record Row(int index, int number, Long clientId, BigDecimal mount, String error) {
+    }
+}
@@ -2,6 +2,9 @@ package fooTalent.flowik.debts.services;
 
 import fooTalent.flowik.clients.entities.Client;
 import fooTalent.flowik.clients.repositories.ClientRepository;
+import fooTalent.flowik.clients.services.ClientBalanceService;
+import fooTalent.flowik.debts.dto.AgingClientRow;
+import fooTalent.flowik.debts.dto.AgingReport;
 import fooTalent.flowik.debts.dto.DebtRegister;
 import fooTalent.flowik.debts.dto.DebtResponse;
 import fooTalent.flowik.debts.entities.Debt;
@@ -10,12 +13,15 @@ import fooTalent.flowik.debts.repositories.DebtRepository;
 import fooTalent.flowik.exceptions.ResourceNotFoundException;
 import fooTalent.flowik.notifications.services.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
@@ -23,9 +29,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DebtService {
 
+    private static final String OVERDUE_DEBT_TITLE = "Alerta de deuda atrasada";
+    private static final String CRITICAL_DEBT_TITLE = "Alerta de deuda crítica";
+
     private final DebtRepository debtRepository;
     private final ClientRepository clientRepository;
     private final NotificationService notificationService;
+    private final ClientBalanceService clientBalanceService;
 
     @Transactional
     public DebtResponse createDebt(Long clientId, DebtRegister register, String email) {
@@ -39,6 +49,7 @@ public class DebtService {
         debt.setIsActive(true);
 
         Debt saved = debtRepository.save(debt);
+        clientBalanceService.refresh(client.getId_client());
 
         return new DebtResponse(saved);
     }
@@ -61,45 +72,31 @@ public class DebtService {
         return new DebtResponse(debt);
     }
 
+    @Transactional(readOnly = true)
+    public AgingReport getAgingReport(String email, LocalDate asOf) {
+        LocalDate date = asOf != null ? asOf : LocalDate.now();
+        List<AgingClientRow> clients = debtRepository.agingByClient(email, date,
+                        date.minusDays(30), date.minusDays(60), date.minusDays(90)).stream()
+                .map(row -> new AgingClientRow(row.getClientId(), row.getClientName(), row.getOpenDebts(),
+                        row.getBucket0To30(), row.getBucket31To60(), row.getBucket61To90(),
+                        row.getBucketOver90(), row.getTotal()))
+                .toList();
+        return new AgingReport(date, clients);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeBalances() {
+        debtRepository.initializeBalances();
+        clientBalanceService.refreshMissing();
+    }
+
     @Scheduled(fixedRate = 8 * 60 * 60 * 1000)
     @Transactional
     public void updateAccountStatus() {
-        List<Debt> debts = debtRepository.findAll();
-
-        for (Debt debt : debts) {
-            long daysExpired = ChronoUnit.DAYS.between(debt.getDebt_date(), LocalDate.now());
-
-            String notificationTitle = null;
-            String notificationDescription = null;
-
-            if (daysExpired >= debt.getOverdueDebt() && daysExpired < debt.getCriticalDebt()) {
-                notificationTitle = "Alerta de deuda atrasada";
-                notificationDescription = "¡Alerta! La deuda de '" + debt.getClient().getName_client()
-                        + "' ha alcanzado el nivel ATRASADO.";
-                debt.setStatus(StatusDebt.Atrasado);
-
-            } else if (daysExpired >= debt.getCriticalDebt()) {
-                notificationTitle = "Alerta de deuda crítica";
-                notificationDescription = "¡Alerta! La deuda de '" + debt.getClient().getName_client()
-                        + "' ha alcanzado el nivel CRÍTICO.";
-                debt.setStatus(StatusDebt.Critico);
-            }
-
-            if (notificationTitle != null) {
-                String notificationCreatorEmail = debt.getCreatedBy();
-
-                boolean alreadyNotified = notificationService.hasActiveDebtNotification(
-                        debt.getId(), notificationCreatorEmail, notificationTitle);
-
-                if (!alreadyNotified) {
-                    notificationService.createDebtNotification(
-                            notificationTitle,
-                            notificationDescription,
-                            debt.getId(),
-                            notificationCreatorEmail
-                    );
-                }
-            }
+        LocalDateTime agedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        if (debtRepository.markAgedDebts(agedAt.toLocalDate(), agedAt) > 0) {
+            clientBalanceService.refreshAgedAt(agedAt);
         }
+        notificationService.createMissingDebtAlerts(OVERDUE_DEBT_TITLE, CRITICAL_DEBT_TITLE);
     }
-}
\ No newline at end of file
+}
@@ -142,6 +142,12 @@ public class GlobalExceptionHandler {
                         null
                 ));
     }
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), null));
+    }
     @ExceptionHandler(OpenAiQuotaExceededException.class)
     public ResponseEntity<ErrorResponse> handleOpenAiQuota(OpenAiQuotaExceededException ex) {
         return ResponseEntity
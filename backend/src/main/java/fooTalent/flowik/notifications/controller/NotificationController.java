@@ -1,7 +1,6 @@
 package fooTalent.flowik.notifications.controller;
 import fooTalent.flowik.config.SecurityUtil;
 import fooTalent.flowik.notifications.dto.NotificationDto;
-import fooTalent.flowik.notifications.entities.Notification;
 import fooTalent.flowik.notifications.enums.NotificationType;
 import fooTalent.flowik.notifications.mappers.NotificationMapper;
 import fooTalent.flowik.notifications.services.NotificationService;
@@ -24,10 +23,7 @@ public class NotificationController {
     public List<NotificationDto.NotificationDTO> getAllNotifications() {
         String userEmail = SecurityUtil.getAuthenticatedEmail();
 
-        List<Notification> allNotifications = service.listAll();
-
-        return allNotifications.stream()
-                .filter(notification -> notification.getCreatedBy().equals(userEmail))
+        return service.listAllByUser(userEmail).stream()
                 .map(NotificationMapper::toDTO)
                 .collect(Collectors.toList());
     }
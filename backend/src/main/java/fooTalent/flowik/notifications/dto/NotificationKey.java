@@ -0,0 +1,8 @@
+package fooTalent.flowik.notifications.dto;
+
+public record NotificationKey(
+        Long referenceId,
+        String createdBy,
+        String title
+) {
+}
@@ -11,11 +11,15 @@ import java.time.LocalDate;
 @Getter @Setter
 @Builder
 @Entity
-@Table(name = "notification")
+@Table(name = "notification", indexes = {
+        @Index(name = "idx_notification_created_by_type", columnList = "created_by, type"),
+        @Index(name = "idx_notification_reference_type", columnList = "reference_id, type")
+})
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private Long id;
     private String title;
     private String description;
@@ -1,11 +1,17 @@
 package fooTalent.flowik.notifications.repositories;
 
+import fooTalent.flowik.notifications.dto.NotificationKey;
 import fooTalent.flowik.notifications.entities.Notification;
 import fooTalent.flowik.notifications.enums.NotificationType;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,7 +26,41 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     boolean existsByReferenceIdAndCreatedByAndTitle(Long productId, String userEmail, String type);
 
+    @Query("SELECT new fooTalent.flowik.notifications.dto.NotificationKey(n.referenceId, n.createdBy, n.title) " +
+            "FROM Notification n WHERE n.type = :type AND n.referenceId IN :referenceIds")
+    List<NotificationKey> findKeysByTypeAndReferenceIds(@Param("type") NotificationType type,
+                                                        @Param("referenceIds") Collection<Long> referenceIds);
+
     void deleteByGenerationDateBefore(LocalDate threshold);
 
+    @Query(value = "SELECT next_val FROM notification_seq FOR UPDATE", nativeQuery = true)
+    long lockNextId();
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO notification (id, title, description, generation_date, read_notification, type, " +
+            "reference_id, created_by) " +
+            "SELECT :firstId + ROW_NUMBER() OVER (ORDER BY d.id) - 1, " +
+            "CASE WHEN d.status = 'Critico' THEN :criticalTitle ELSE :overdueTitle END, " +
+            "CONCAT('¡Alerta! La deuda de ''', c.name_client, ''' ha alcanzado el nivel ', " +
+            "CASE WHEN d.status = 'Critico' THEN 'CRÍTICO.' ELSE 'ATRASADO.' END), " +
+            ":today, false, 'DEBT', d.id, d.created_by " +
+            "FROM debt d JOIN client c ON c.id_client = d.client_id " +
+            "WHERE d.is_active = true AND d.status IN ('Atrasado', 'Critico') " +
+            "AND NOT EXISTS (SELECT 1 FROM notification n WHERE n.reference_id = d.id AND n.type = 'DEBT' " +
+            "AND n.created_by = d.created_by AND n.read_notification = false " +
+            "AND n.title = CASE WHEN d.status = 'Critico' THEN :criticalTitle ELSE :overdueTitle END)",
+            nativeQuery = true)
+    int insertMissingDebtAlerts(@Param("firstId") long firstId,
+                                @Param("overdueTitle") String overdueTitle,
+                                @Param("criticalTitle") String criticalTitle,
+                                @Param("today") LocalDate today);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE notification_seq SET next_val = GREATEST(next_val, " +
+            "(SELECT COALESCE(MAX(id), 0) + 51 FROM notification))", nativeQuery = true)
+    int alignNextId();
+
     boolean existsByReferenceIdAndCreatedByAndTitleAndTypeAndReadNotificationIsFalse(Long debtId, String createdBy, String title, NotificationType notificationType);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package fooTalent.flowik.notifications.services;
 
 import fooTalent.flowik.config.SecurityUtil;
 import fooTalent.flowik.exceptions.ResourceNotFoundException;
+import fooTalent.flowik.notifications.dto.NotificationKey;
 import fooTalent.flowik.notifications.entities.Notification;
 import fooTalent.flowik.notifications.enums.NotificationType;
 import fooTalent.flowik.notifications.repositories.NotificationRepository;
@@ -11,7 +12,10 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class NotificationService {
@@ -26,9 +30,13 @@ public class NotificationService {
         }
     }
     public Notification createStockNotification(String title, String description, Long referenceId, String createdBy) {
+        return repository.save(buildStockNotification(title, description, referenceId, createdBy));
+    }
+
+    public Notification buildStockNotification(String title, String description, Long referenceId, String createdBy) {
         String finalCreatedBy = (createdBy != null) ? createdBy : resolveCreatedBy("system");
 
-        Notification notification = Notification.builder()
+        return Notification.builder()
                 .title(title)
                 .description(description)
                 .type(NotificationType.STOCK)
@@ -36,11 +44,26 @@ public class NotificationService {
                 .readNotification(false)
                 .createdBy(finalCreatedBy)
                 .build();
+    }
 
-        return repository.save(notification);
+    public List<Notification> saveAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) return notifications;
+        return repository.saveAll(notifications);
+    }
+
+    @Transactional
+    public int createMissingDebtAlerts(String overdueTitle, String criticalTitle) {
+        long firstId = repository.lockNextId();
+        int created = repository.insertMissingDebtAlerts(firstId, overdueTitle, criticalTitle, LocalDate.now());
+        if (created > 0) repository.alignNextId();
+        return created;
     }
 
     public void createDebtNotification(String title, String description, Long debtId, String createdBy) {
+        repository.save(buildDebtNotification(title, description, debtId, createdBy));
+    }
+
+    public Notification buildDebtNotification(String title, String description, Long debtId, String createdBy) {
         Notification notification = new Notification();
         notification.setTitle(title);
         notification.setDescription(description);
@@ -48,7 +71,7 @@ public class NotificationService {
         notification.setCreatedBy(createdBy);
         notification.setType(NotificationType.DEBT);
         notification.setReadNotification(false);
-        repository.save(notification);
+        return notification;
     }
 
         public void markAsRead(Long id, String userEmail) {
@@ -62,10 +85,19 @@ public class NotificationService {
         return repository.findAll();
     }
 
+    public List<Notification> listAllByUser(String userEmail) {
+        return repository.findByCreatedBy(userEmail);
+    }
+
         public List<Notification> listByType(String userEmail, NotificationType type) {
             return repository.findByCreatedByAndType(userEmail, type);
         }
 
+    public Set<NotificationKey> findStockNotificationKeys(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return Set.of();
+        return new HashSet<>(repository.findKeysByTypeAndReferenceIds(NotificationType.STOCK, productIds));
+    }
+
     public boolean hasActiveStockNotification(Long productId, String userEmail, String type) {
         return repository.existsByReferenceIdAndCreatedByAndTitle(productId, userEmail, type);
     }
@@ -1,18 +1,63 @@
 package fooTalent.flowik.payments.Repository;
 
+import fooTalent.flowik.payments.dto.PaymentClientTotal;
+import fooTalent.flowik.payments.dto.PaymentHistoryResponse;
 import fooTalent.flowik.payments.entities.Payment;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
-    List<Payment> findByCreatedBy(String createdBy);
 
-    @Query("SELECT p FROM Payment p " +
-            "WHERE p.debt.client.id_client = :idClient " +
-            "ORDER BY p.datePayment DESC")
-    List<Payment> findAllByClientId(@Param("idClient") Long idClient);
-}
\ No newline at end of file
+    String PERIOD_FILTER = "FROM payments p WHERE p.created_by = :email " +
+            "AND p.date_payment >= :from AND p.date_payment <= :to ";
+
+    @Query("SELECT new fooTalent.flowik.payments.dto.PaymentHistoryResponse(p.id, p.paymentMount, p.datePayment, " +
+            "d.id, c.id_client, c.name_client) " +
+            "FROM Payment p JOIN p.debt d JOIN d.client c " +
+            "WHERE p.createdBy = :email AND p.id < :before " +
+            "AND (:from IS NULL OR p.datePayment >= :from) AND (:to IS NULL OR p.datePayment <= :to) " +
+            "AND (:clientId IS NULL OR c.id_client = :clientId) " +
+            "AND (:minAmount IS NULL OR p.paymentMount >= :minAmount) " +
+            "AND (:maxAmount IS NULL OR p.paymentMount <= :maxAmount) " +
+            "ORDER BY p.id DESC")
+    List<PaymentHistoryResponse> findHistory(@Param("email") String email,
+                                             @Param("clientId") Long clientId,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to,
+                                             @Param("minAmount") BigDecimal minAmount,
+                                             @Param("maxAmount") BigDecimal maxAmount,
+                                             @Param("before") Long before,
+                                             Limit limit);
+
+    @Query(value = "SELECT p.date_payment AS periodStart, COUNT(*) AS payments, SUM(p.payment_mount) AS collected " +
+            PERIOD_FILTER + "GROUP BY p.date_payment ORDER BY periodStart", nativeQuery = true)
+    List<PeriodTotal> sumByDay(@Param("email") String email, @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
+
+    @Query(value = "SELECT DATE_SUB(p.date_payment, INTERVAL WEEKDAY(p.date_payment) DAY) AS periodStart, " +
+            "COUNT(*) AS payments, SUM(p.payment_mount) AS collected " +
+            PERIOD_FILTER + "GROUP BY periodStart ORDER BY periodStart", nativeQuery = true)
+    List<PeriodTotal> sumByWeek(@Param("email") String email, @Param("from") LocalDate from,
+                                @Param("to") LocalDate to);
+
+    @Query(value = "SELECT DATE_SUB(p.date_payment, INTERVAL DAYOFMONTH(p.date_payment) - 1 DAY) AS periodStart, " +
+            "COUNT(*) AS payments, SUM(p.payment_mount) AS collected " +
+            PERIOD_FILTER + "GROUP BY periodStart ORDER BY periodStart", nativeQuery = true)
+    List<PeriodTotal> sumByMonth(@Param("email") String email, @Param("from") LocalDate from,
+                                 @Param("to") LocalDate to);
+
+    @Query("SELECT new fooTalent.flowik.payments.dto.PaymentClientTotal(c.id_client, c.name_client, COUNT(p), " +
+            "SUM(p.paymentMount), MAX(p.datePayment)) " +
+            "FROM Payment p JOIN p.debt d JOIN d.client c " +
+            "WHERE p.createdBy = :email AND p.datePayment >= :from AND p.datePayment <= :to " +
+            "GROUP BY c.id_client, c.name_client ORDER BY SUM(p.paymentMount) DESC")
+    List<PaymentClientTotal> sumByClient(@Param("email") String email, @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+}
@@ -0,0 +1,13 @@
+package fooTalent.flowik.payments.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface PeriodTotal {
+
+    LocalDate getPeriodStart();
+
+    Long getPayments();
+
+    BigDecimal getCollected();
+}
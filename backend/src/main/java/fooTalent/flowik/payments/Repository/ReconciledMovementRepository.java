@@ -0,0 +1,15 @@
+package fooTalent.flowik.payments.Repository;
+
+import fooTalent.flowik.payments.entities.ReconciledMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReconciledMovementRepository extends JpaRepository<ReconciledMovement, String> {
+
+    @Query("SELECT m.hash FROM ReconciledMovement m WHERE m.hash IN :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+}
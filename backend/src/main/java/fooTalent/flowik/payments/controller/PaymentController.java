@@ -1,15 +1,30 @@
 package fooTalent.flowik.payments.controller;
 
 import fooTalent.flowik.config.SecurityUtil;
+import fooTalent.flowik.exceptions.util.FileParseException;
+import fooTalent.flowik.payments.dto.PaymentClientTotal;
+import fooTalent.flowik.payments.dto.PaymentPage;
+import fooTalent.flowik.payments.dto.PaymentPeriodTotal;
 import fooTalent.flowik.payments.dto.PaymentRequest;
 import fooTalent.flowik.payments.dto.PaymentResponse;
+import fooTalent.flowik.payments.dto.ReconciliationReport;
+import fooTalent.flowik.payments.enums.PaymentPeriod;
+import fooTalent.flowik.payments.services.PaymentReconciliationService;
 import fooTalent.flowik.payments.services.PaymentService;
+import fooTalent.flowik.products.services.FileParserService;
+import fooTalent.flowik.products.services.TableRowCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,6 +33,8 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentReconciliationService reconciliationService;
+    private final FileParserService fileParserService;
 
     @Operation(summary = "Registrar un nuevo Pago para un Cliente")
     @PostMapping("/{id_client}")
@@ -26,11 +43,50 @@ public class PaymentController {
         return ResponseEntity.ok(paymentService.createPayment(id_client, paymentRequest));
     }
 
-    @Operation(summary = "Obtener todos los pagos del usuario autenticado")
+    @Operation(summary = "Conciliar pagos desde un extracto bancario CSV o Excel, asignando cada fila al cliente por su documento")
+    @PostMapping(path = "/reconcile", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ReconciliationReport> reconcile(@RequestPart("documents") MultipartFile documents) throws IOException {
+        if (documents == null || documents.isEmpty()) {
+            throw new FileParseException("El archivo no fue enviado o está vacío");
+        }
+        String email = SecurityUtil.getAuthenticatedEmail();
+        try (TableRowCursor cursor = fileParserService.openCursor(documents)) {
+            return ResponseEntity.ok(reconciliationService.reconcile(cursor, email));
+        }
+    }
+
+    @Operation(summary = "Historial de pagos del usuario autenticado, paginado por cursor y filtrable por cliente, fechas y monto")
     @GetMapping
-    public ResponseEntity<List<PaymentResponse>> getAllPayments() {
+    public ResponseEntity<PaymentPage> getAllPayments(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        String email = SecurityUtil.getAuthenticatedEmail();
+        return ResponseEntity.ok(paymentService.getPaymentHistory(email, clientId, from, to,
+                minAmount, maxAmount, cursor, size));
+    }
+
+    @Operation(summary = "Total cobrado por día, semana o mes en un rango de fechas")
+    @GetMapping("/summary")
+    public ResponseEntity<List<PaymentPeriodTotal>> getTotalsByPeriod(
+            @RequestParam(defaultValue = "DIA") PaymentPeriod period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        String email = SecurityUtil.getAuthenticatedEmail();
+        return ResponseEntity.ok(paymentService.getTotalsByPeriod(email, period, from, to));
+    }
+
+    @Operation(summary = "Total cobrado por cliente en un rango de fechas")
+    @GetMapping("/summary/clients")
+    public ResponseEntity<List<PaymentClientTotal>> getTotalsByClient(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         String email = SecurityUtil.getAuthenticatedEmail();
-        return ResponseEntity.ok(paymentService.getAllPaymentsByUser(email));
+        return ResponseEntity.ok(paymentService.getTotalsByClient(email, from, to));
     }
 
     @Operation(summary = "Obtener un pago por su ID (si pertenece al usuario autenticado)")
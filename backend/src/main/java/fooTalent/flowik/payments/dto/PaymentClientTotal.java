@@ -0,0 +1,13 @@
+package fooTalent.flowik.payments.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record PaymentClientTotal(
+        Long clientId,
+        String clientName,
+        long payments,
+        BigDecimal collected,
+        LocalDate lastPayment
+) {
+}
@@ -0,0 +1,14 @@
+package fooTalent.flowik.payments.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record PaymentHistoryResponse(
+        Long id,
+        BigDecimal paymentMount,
+        LocalDate datePayment,
+        Long debtId,
+        Long clientId,
+        String clientName
+) {
+}
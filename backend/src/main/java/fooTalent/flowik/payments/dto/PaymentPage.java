@@ -0,0 +1,11 @@
+package fooTalent.flowik.payments.dto;
+
+import java.util.List;
+
+public record PaymentPage(
+        List<PaymentHistoryResponse> content,
+        int size,
+        boolean hasNext,
+        Long nextCursor
+) {
+}
@@ -0,0 +1,11 @@
+package fooTalent.flowik.payments.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record PaymentPeriodTotal(
+        LocalDate periodStart,
+        long payments,
+        BigDecimal collected
+) {
+}
@@ -0,0 +1,14 @@
+package fooTalent.flowik.payments.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ReconciliationReport(
+        int rows,
+        int applied,
+        BigDecimal appliedAmount,
+        int clients,
+        List<ReconciliationRow> unmatched,
+        List<ReconciliationRow> rejected
+) {
+}
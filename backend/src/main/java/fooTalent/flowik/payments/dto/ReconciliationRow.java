@@ -0,0 +1,12 @@
+package fooTalent.flowik.payments.dto;
+
+import java.math.BigDecimal;
+
+public record ReconciliationRow(
+        int row,
+        String document,
+        BigDecimal amount,
+        Long clientId,
+        String error
+) {
+}
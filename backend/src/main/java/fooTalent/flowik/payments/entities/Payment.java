@@ -15,11 +15,15 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @Data
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_created_by_date", columnList = "created_by, date_payment"),
+        @Index(name = "idx_payments_created_by_id", columnList = "created_by, id")
+})
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false,name = "payment_mount", precision = 10, scale = 2)
@@ -38,6 +42,8 @@ public class Payment {
 
     @PrePersist
     public void prePersist() {
-        this.createdBy = SecurityUtil.getAuthenticatedEmail();
+        if (this.createdBy == null) {
+            this.createdBy = SecurityUtil.getAuthenticatedEmail();
+        }
     }
 }
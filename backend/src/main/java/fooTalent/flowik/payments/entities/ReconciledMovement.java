@@ -0,0 +1,51 @@
+package fooTalent.flowik.payments.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "reconciled_movement")
+public class ReconciledMovement implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false, name = "created_by", length = 150)
+    private String createdBy;
+
+    @Column(nullable = false, name = "reconciled_at")
+    private LocalDateTime reconciledAt;
+
+    @Transient
+    private boolean persisted;
+
+    public ReconciledMovement(String hash, String createdBy, LocalDateTime reconciledAt) {
+        this.hash = hash;
+        this.createdBy = createdBy;
+        this.reconciledAt = reconciledAt;
+    }
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
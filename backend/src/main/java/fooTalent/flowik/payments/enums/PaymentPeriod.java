@@ -0,0 +1,8 @@
+package fooTalent.flowik.payments.enums;
+
+public enum PaymentPeriod {
+
+    DIA,
+    SEMANA,
+    MES
+}
@@ -0,0 +1,263 @@
+package fooTalent.flowik.payments.services;
+
+import fooTalent.flowik.clients.dto.ClientDocument;
+import fooTalent.flowik.clients.repositories.ClientRepository;
+import fooTalent.flowik.clients.services.ClientBalanceService;
+import fooTalent.flowik.debts.repositories.DebtRepository;
+import fooTalent.flowik.exceptions.BadRequestException;
+import fooTalent.flowik.exceptions.util.FileParseException;
+import fooTalent.flowik.payments.Repository.PaymentRepository;
+import fooTalent.flowik.payments.Repository.ReconciledMovementRepository;
+import fooTalent.flowik.payments.dto.ReconciliationReport;
+import fooTalent.flowik.payments.dto.ReconciliationRow;
+import fooTalent.flowik.payments.entities.ReconciledMovement;
+import fooTalent.flowik.payments.util.Calcs;
+import fooTalent.flowik.products.dto.TableRow;
+import fooTalent.flowik.products.services.TableRowCursor;
+import fooTalent.flowik.products.services.TableValues;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+public class PaymentReconciliationService {
+
+    private static final int MAX_ROWS = 50000;
+    private static final int LOOKUP_CHUNK = 1000;
+    private static final String ALREADY_RECONCILED = "Este movimiento ya fue conciliado.";
+    private static final String BATCH_FAILED = "No se pudo aplicar el pago, inténtalo de nuevo.";
+    private static final Set<String> DOCUMENT_HEADERS = Set.of("documento", "document", "documenttype", "dni", "cuit", "cuil");
+    private static final Set<String> AMOUNT_HEADERS = Set.of("monto", "importe", "amount", "credito", "mount");
+    private static final Set<String> DATE_HEADERS = Set.of("fecha", "date", "fechaoperacion", "fechavalor");
+
+    private final PaymentRepository paymentRepository;
+    private final ReconciledMovementRepository reconciledMovementRepository;
+    private final DebtRepository debtRepository;
+    private final ClientRepository clientRepository;
+    private final ClientBalanceService clientBalanceService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService reconciliationExecutor;
+    private final int clientsPerBatch;
+
+    public PaymentReconciliationService(PaymentRepository paymentRepository,
+                                        ReconciledMovementRepository reconciledMovementRepository,
+                                        DebtRepository debtRepository,
+                                        ClientRepository clientRepository,
+                                        ClientBalanceService clientBalanceService,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${payments.reconciliation.parallelism:4}") int parallelism,
+                                        @Value("${payments.reconciliation.clients-per-batch:100}") int clientsPerBatch) {
+        this.paymentRepository = paymentRepository;
+        this.reconciledMovementRepository = reconciledMovementRepository;
+        this.debtRepository = debtRepository;
+        this.clientRepository = clientRepository;
+        this.clientBalanceService = clientBalanceService;
+        this.transactionTemplate = transactionTemplate;
+        this.reconciliationExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        this.clientsPerBatch = Math.max(1, clientsPerBatch);
+    }
+
+    public ReconciliationReport reconcile(TableRowCursor cursor, String email) {
+        int documentColumn = TableValues.column(cursor.headers(), DOCUMENT_HEADERS);
+        int amountColumn = TableValues.column(cursor.headers(), AMOUNT_HEADERS);
+        int dateColumn = TableValues.column(cursor.headers(), DATE_HEADERS);
+        if (documentColumn < 0 || amountColumn < 0) {
+            throw new FileParseException("El archivo debe tener una columna de documento y una de monto.");
+        }
+
+        List<ReconciliationRow> unmatched = new ArrayList<>();
+        Map<String, List<StatementRow>> rowsByDocument = new LinkedHashMap<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        int rows = 0;
+        while (cursor.hasNext()) {
+            if (rows == MAX_ROWS) {
+                throw new BadRequestException("No se pueden conciliar más de " + MAX_ROWS + " movimientos por archivo.");
+            }
+            rows++;
+            TableRow row = cursor.next();
+            String document = TableValues.cell(row, documentColumn);
+            String rawAmount = TableValues.cell(row, amountColumn);
+            BigDecimal amount = parseAmount(rawAmount);
+
+            if (document.isEmpty()) {
+                unmatched.add(new ReconciliationRow(row.number(), document, amount, null, "Documento vacío."));
+            } else if (amount == null || amount.signum() <= 0) {
+                unmatched.add(new ReconciliationRow(row.number(), document, amount, null, "Monto inválido: " + rawAmount));
+            } else {
+                String movement = String.join("\u001F", email, document, amount.stripTrailingZeros().toPlainString(),
+                        dateColumn >= 0 ? TableValues.cell(row, dateColumn) : "#" + row.number());
+                int occurrence = occurrences.merge(movement, 1, Integer::sum);
+                rowsByDocument.computeIfAbsent(document, key -> new ArrayList<>())
+                        .add(new StatementRow(row.number(), document, amount, fingerprint(movement, occurrence)));
+            }
+        }
+        if (rows == 0) {
+            throw new FileParseException("El archivo no contiene movimientos para conciliar.");
+        }
+
+        Map<Long, List<StatementRow>> rowsByClient = new TreeMap<>();
+        if (!rowsByDocument.isEmpty()) {
+            Map<String, Long> clientByDocument = new HashMap<>();
+            Set<String> ambiguous = new HashSet<>();
+            for (ClientDocument client : clientRepository.findByDocuments(rowsByDocument.keySet(), email)) {
+                if (clientByDocument.put(client.document(), client.clientId()) != null) {
+                    ambiguous.add(client.document());
+                }
+            }
+            rowsByDocument.forEach((document, statementRows) -> {
+                Long clientId = clientByDocument.get(document);
+                if (ambiguous.contains(document)) {
+                    statementRows.forEach(row -> unmatched.add(new ReconciliationRow(row.number(), document,
+                            row.amount(), null, "Hay más de un cliente con ese documento.")));
+                } else if (clientId == null) {
+                    statementRows.forEach(row -> unmatched.add(new ReconciliationRow(row.number(), document,
+                            row.amount(), null, "No hay un cliente con ese documento.")));
+                } else {
+                    rowsByClient.computeIfAbsent(clientId, key -> new ArrayList<>()).addAll(statementRows);
+                }
+            });
+        }
+
+        List<ReconciliationRow> rejected = new ArrayList<>();
+        skipReconciled(rowsByClient, rejected);
+
+        List<Long> clientIds = new ArrayList<>(rowsByClient.keySet());
+        List<List<Long>> batchClients = new ArrayList<>();
+        List<CompletableFuture<List<Allocation>>> batches = new ArrayList<>();
+        for (int from = 0; from < clientIds.size(); from += clientsPerBatch) {
+            List<Long> batch = clientIds.subList(from, Math.min(from + clientsPerBatch, clientIds.size()));
+            batchClients.add(batch);
+            batches.add(CompletableFuture.supplyAsync(() -> allocate(batch, rowsByClient, email), reconciliationExecutor));
+        }
+
+        BigDecimal appliedAmount = BigDecimal.ZERO;
+        int applied = 0;
+        try {
+            for (int i = 0; i < batches.size(); i++) {
+                List<Allocation> allocations;
+                try {
+                    allocations = batches.get(i).join();
+                } catch (CompletionException | CancellationException e) {
+                    allocations = failed(batchClients.get(i), rowsByClient);
+                }
+                for (Allocation allocation : allocations) {
+                    if (allocation.error() == null) {
+                        applied++;
+                        appliedAmount = appliedAmount.add(allocation.row().amount());
+                    } else {
+                        rejected.add(new ReconciliationRow(allocation.row().number(), allocation.row().document(),
+                                allocation.row().amount(), allocation.clientId(), allocation.error()));
+                    }
+                }
+            }
+        } finally {
+            clientBalanceService.refresh(clientIds);
+        }
+
+        unmatched.sort(Comparator.comparingInt(ReconciliationRow::row));
+        rejected.sort(Comparator.comparingInt(ReconciliationRow::row));
+        return new ReconciliationReport(rows, applied, appliedAmount, clientIds.size(), unmatched, rejected);
+    }
+
+    private List<Allocation> allocate(List<Long> clientIds, Map<Long, List<StatementRow>> rowsByClient, String email) {
+        return transactionTemplate.execute(status -> {
+            List<Allocation> allocations = new ArrayList<>();
+            List<ReconciledMovement> movements = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (Long clientId : clientIds) {
+                for (StatementRow row : rowsByClient.get(clientId)) {
+                    try {
+                        Calcs.applyPayment(clientId, row.amount(), email, paymentRepository, debtRepository);
+                        allocations.add(new Allocation(row, clientId, null));
+                        movements.add(new ReconciledMovement(row.fingerprint(), email, now));
+                    } catch (IllegalArgumentException e) {
+                        allocations.add(new Allocation(row, clientId, e.getMessage()));
+                    }
+                }
+            }
+            reconciledMovementRepository.saveAll(movements);
+            return allocations;
+        });
+    }
+
+    private List<Allocation> failed(List<Long> clientIds, Map<Long, List<StatementRow>> rowsByClient) {
+        List<Allocation> allocations = new ArrayList<>();
+        for (Long clientId : clientIds) {
+            for (StatementRow row : rowsByClient.get(clientId)) {
+                allocations.add(new Allocation(row, clientId, BATCH_FAILED));
+            }
+        }
+        return allocations;
+    }
+
+    private void skipReconciled(Map<Long, List<StatementRow>> rowsByClient, List<ReconciliationRow> rejected) {
+        List<String> fingerprints = rowsByClient.values().stream()
+                .flatMap(List::stream)
+                .map(StatementRow::fingerprint)
+                .toList();
+        Set<String> reconciled = new HashSet<>();
+        for (int from = 0; from < fingerprints.size(); from += LOOKUP_CHUNK) {
+            reconciled.addAll(reconciledMovementRepository.findExistingHashes(
+                    fingerprints.subList(from, Math.min(from + LOOKUP_CHUNK, fingerprints.size()))));
+        }
+        if (reconciled.isEmpty()) return;
+
+        rowsByClient.entrySet().removeIf(entry -> {
+            entry.getValue().removeIf(row -> {
+                if (!reconciled.contains(row.fingerprint())) return false;
+                rejected.add(new ReconciliationRow(row.number(), row.document(), row.amount(), entry.getKey(),
+                        ALREADY_RECONCILED));
+                return true;
+            });
+            return entry.getValue().isEmpty();
+        });
+    }
+
+    private String fingerprint(String movement, int occurrence) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((movement + '\u001F' + occurrence)
+                    .getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private BigDecimal parseAmount(String value) {
+        BigDecimal amount = TableValues.parseDecimal(value);
+        return amount == null || amount.stripTrailingZeros().scale() > 2 ? null : amount;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciliationExecutor.shutdownNow();
+    }
+
+    private record StatementRow(int number, String document, BigDecimal amount, String fingerprint) {
+    }
+
+    private record Allocation(StatementRow row, Long clientId, String error) {
+    }
+}
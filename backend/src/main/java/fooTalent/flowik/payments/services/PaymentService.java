@@ -2,38 +2,53 @@ package fooTalent.flowik.payments.services;
 
 import fooTalent.flowik.clients.entities.Client;
 import fooTalent.flowik.clients.repositories.ClientRepository;
+import fooTalent.flowik.clients.services.ClientBalanceService;
 import fooTalent.flowik.debts.repositories.DebtRepository;
+import fooTalent.flowik.exceptions.BadRequestException;
 import fooTalent.flowik.exceptions.ResourceNotFoundException;
 import fooTalent.flowik.payments.Repository.PaymentRepository;
+import fooTalent.flowik.payments.Repository.PeriodTotal;
+import fooTalent.flowik.payments.dto.PaymentClientTotal;
+import fooTalent.flowik.payments.dto.PaymentHistoryResponse;
+import fooTalent.flowik.payments.dto.PaymentPage;
+import fooTalent.flowik.payments.dto.PaymentPeriodTotal;
 import fooTalent.flowik.payments.dto.PaymentRequest;
 import fooTalent.flowik.payments.dto.PaymentResponse;
 import fooTalent.flowik.payments.entities.Payment;
+import fooTalent.flowik.payments.enums.PaymentPeriod;
 import fooTalent.flowik.payments.util.Calcs;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PaymentRepository paymentRepository;
     private final ClientRepository clientRepository;
     private final DebtRepository debtRepository;
+    private final ClientBalanceService clientBalanceService;
 
     @Transactional
     public PaymentResponse createPayment(Long id_client, PaymentRequest request) {
         Client client = clientRepository.findById(id_client)
                 .orElseThrow(() -> new ResourceNotFoundException("cliente id: " + id_client));
 
-        List<Payment> newPayments = Calcs.applyPayment(client, request.paymentMount(), paymentRepository, debtRepository);
+        List<Payment> newPayments = Calcs.applyPayment(client.getId_client(), request.paymentMount(),
+                paymentRepository, debtRepository);
 
         if (newPayments.isEmpty()) {
             throw new ResourceNotFoundException("No se generó ningún pago. Verifique el monto o las deudas del cliente.");
         }
+        clientBalanceService.refresh(client.getId_client());
 
         Payment latestCreatedPayment = newPayments.get(newPayments.size() - 1);
 
@@ -44,10 +59,46 @@ public class PaymentService {
         );
     }
 
-    public List<PaymentResponse> getAllPaymentsByUser(String email) {
-        return paymentRepository.findByCreatedBy(email).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public PaymentPage getPaymentHistory(String email, Long clientId, LocalDate from, LocalDate to,
+                                         BigDecimal minAmount, BigDecimal maxAmount, Long cursor, int size) {
+        if (from != null && to != null) {
+            validateRange(from, to);
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new BadRequestException("El monto mínimo no puede ser mayor al monto máximo.");
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<PaymentHistoryResponse> payments = paymentRepository.findHistory(email, clientId, from, to,
+                minAmount, maxAmount, cursor != null ? cursor : Long.MAX_VALUE, Limit.of(pageSize + 1));
+
+        boolean hasNext = payments.size() > pageSize;
+        List<PaymentHistoryResponse> content = hasNext ? payments.subList(0, pageSize) : payments;
+        Long nextCursor = hasNext ? content.get(content.size() - 1).id() : null;
+        return new PaymentPage(content, content.size(), hasNext, nextCursor);
+    }
+
+    public List<PaymentPeriodTotal> getTotalsByPeriod(String email, PaymentPeriod period, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<PeriodTotal> totals = switch (period) {
+            case DIA -> paymentRepository.sumByDay(email, from, to);
+            case SEMANA -> paymentRepository.sumByWeek(email, from, to);
+            case MES -> paymentRepository.sumByMonth(email, from, to);
+        };
+        return totals.stream()
+                .map(total -> new PaymentPeriodTotal(total.getPeriodStart(), total.getPayments(), total.getCollected()))
+                .toList();
+    }
+
+    public List<PaymentClientTotal> getTotalsByClient(String email, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return paymentRepository.sumByClient(email, from, to);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("La fecha inicial debe ser anterior a la fecha final.");
+        }
     }
 
     public PaymentResponse getPaymentById(Long id, String email) {
@@ -1,6 +1,5 @@
 package fooTalent.flowik.payments.util;
 
-import fooTalent.flowik.clients.entities.Client;
 import fooTalent.flowik.debts.entities.Debt;
 import fooTalent.flowik.debts.enums.StatusDebt;
 import fooTalent.flowik.debts.repositories.DebtRepository;
@@ -9,41 +8,40 @@ import fooTalent.flowik.payments.entities.Payment;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 public class Calcs {
 
-    public static List<Payment> applyPayment(Client client, BigDecimal payment,
+    public static List<Payment> applyPayment(long clientId, BigDecimal payment,
                                              PaymentRepository paymentRepository,
                                              DebtRepository debtRepository) {
-        BigDecimal totalDebt = client.getDebts().stream()
-                .filter(Debt::getIsActive)
-                .map(d -> d.getMount().subtract(getTotalPayments(d)))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return applyPayment(clientId, payment, null, paymentRepository, debtRepository);
+    }
 
-        if (!debtRepository.existsActiveDebtByClientId(client.getId_client())) {
+    public static List<Payment> applyPayment(long clientId, BigDecimal payment, String createdBy,
+                                             PaymentRepository paymentRepository,
+                                             DebtRepository debtRepository) {
+        if (!debtRepository.existsActiveDebtByClientId(clientId)) {
             throw new IllegalArgumentException("Deuda inexistente");
         }
 
-         if (payment.compareTo(totalDebt) > 0) {
+        List<Debt> debts = debtRepository.findOpenDebtsForUpdate(clientId);
+
+        BigDecimal totalDebt = debts.stream()
+                .map(Debt::getRemaining)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        if (payment.compareTo(totalDebt) > 0) {
             throw new IllegalArgumentException("El pago no puede ser mayor al total de la deuda pendiente: " + totalDebt);
         }
 
         BigDecimal remaining = payment;
-
-        List<Debt> debts = client.getDebts().stream()
-                .filter(Debt::getIsActive)
-                .sorted(Comparator.comparing(Debt::getDebt_date))
-                .toList();
-
         List<Payment> newPayments = new ArrayList<>();
 
         for (Debt debt : debts) {
             if (remaining.compareTo(BigDecimal.ZERO) <= 0) break;
 
-            BigDecimal debtRemaining = debt.getMount().subtract(getTotalPayments(debt));
-            if (debtRemaining.compareTo(BigDecimal.ZERO) <= 0) continue;
+            BigDecimal debtRemaining = debt.getRemaining();
 
             Payment newPayment = new Payment();
             if (remaining.compareTo(debtRemaining) >= 0) {
@@ -56,18 +54,14 @@ public class Calcs {
                 remaining = BigDecimal.ZERO;
             }
 
+            debt.setPaidAmount(debt.getPaidAmount().add(newPayment.getPaymentMount()));
+            debt.setRemaining(debtRemaining.subtract(newPayment.getPaymentMount()));
+
             newPayment.setDebt(debt);
-            paymentRepository.save(newPayment);
-            debt.getPayments().add(newPayment);
+            newPayment.setCreatedBy(createdBy);
             newPayments.add(newPayment);
         }
 
-        return newPayments;
-    }
-
-    private static BigDecimal getTotalPayments(Debt debt) {
-        return debt.getPayments().stream()
-                .map(Payment::getPaymentMount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return paymentRepository.saveAll(newPayments);
     }
-}
\ No newline at end of file
+}
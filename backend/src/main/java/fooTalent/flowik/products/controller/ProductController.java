@@ -1,27 +1,32 @@
 package fooTalent.flowik.products.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import fooTalent.flowik.config.AdminAccess;
 import fooTalent.flowik.config.SecurityUtil;
 import fooTalent.flowik.exceptions.ResourceNotFoundException;
 import fooTalent.flowik.exceptions.util.FileParseException;
 import fooTalent.flowik.products.dto.*;
 import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.enums.ProductSortField;
+import fooTalent.flowik.products.enums.StockLevel;
 import fooTalent.flowik.products.repositories.ProductRepository;
 import fooTalent.flowik.products.services.FileParserService;
-import fooTalent.flowik.products.services.OpenAiServiceWrapper;
+import fooTalent.flowik.products.services.ImportJobService;
+import fooTalent.flowik.products.services.ImportResultCache;
+import fooTalent.flowik.products.services.ProductImportService;
 import fooTalent.flowik.products.services.ProductServiceImpl;
+import fooTalent.flowik.products.services.TableRowCursor;
 import fooTalent.flowik.providers.entities.Provider;
 import fooTalent.flowik.providers.repositories.ProviderRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
-import fooTalent.flowik.products.dto.TableRowResponse;
 
 import java.net.URI;
 import java.util.List;
@@ -35,7 +40,10 @@ public class ProductController {
     private final ProductRepository productRepository;
     private final FileParserService parserService;
     private final ProviderRepository providerRepository;
-    private final OpenAiServiceWrapper openAiServiceWrapper;
+    private final ProductImportService productImportService;
+    private final ImportJobService importJobService;
+    private final ImportResultCache importResultCache;
+    private final AdminAccess adminAccess;
 
     @Operation(summary = "Registrar un nuevo producto")
     @PostMapping
@@ -56,11 +64,26 @@ public class ProductController {
 
         String email = SecurityUtil.getAuthenticatedEmail();
 
-        List<ProductList> products = productService.getAllProducts().stream()
-                .filter(product -> product.getCreatedBy().equals(email))
-                .map(ProductList::new)
-                .toList();
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(productService.getProductListByUser(email));
+    }
+
+    @Operation(summary = "Listar productos del usuario autenticado paginados por cursor, con orden y filtros")
+    @GetMapping("/getProducts/page")
+    public ResponseEntity<ProductPage> getProductsPage(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "NAME") ProductSortField sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Long providerId,
+            @RequestParam(required = false) StockLevel stockLevel,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        String email = SecurityUtil.getAuthenticatedEmail();
+
+        ProductFilter filter = new ProductFilter(category, active, providerId, stockLevel);
+        return ResponseEntity.ok(productService.getProductsPage(email, filter, sortBy, direction, cursor, size, includeTotal));
     }
 
     @Operation(summary = "Traer un producto por ID")
@@ -160,13 +183,33 @@ public class ProductController {
 
         String email = SecurityUtil.getAuthenticatedEmail();
 
-        List<ProductList> products = productService.editPrice(producEditPrice).stream()
+        List<Product> products = productService.editPrice(producEditPrice).stream()
                 .filter(product -> product.getCreatedBy().equals(email))
-                .map(product -> new ProductList(product))
                 .toList();
 
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(productService.toProductLists(products));
+    }
+
+    @Operation(summary = "Ajustar precios en bloque por IDs con una sola actualización; devuelve la cantidad de productos modificados")
+    @PatchMapping("/prices/bulk")
+    public ResponseEntity<PriceAdjustResult> bulkAdjustPrice(@RequestBody @Valid ProducEditPrice producEditPrice) {
+
+        String email = SecurityUtil.getAuthenticatedEmail();
+
+        return ResponseEntity.ok(productService.bulkAdjustPrice(producEditPrice, email));
+    }
+
+    @Operation(summary = "Ajustar precios por categoría, proveedor o nivel de stock; con dryRun solo devuelve la vista previa")
+    @PatchMapping("/prices/selection")
+    public ResponseEntity<PriceAdjustPreview> adjustPriceBySelection(
+            @RequestBody @Valid ProductPriceSelection selection,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+
+        String email = SecurityUtil.getAuthenticatedEmail();
+
+        return ResponseEntity.ok(productService.adjustPriceBySelection(selection, email, dryRun));
     }
+
     @Operation(summary = "Carga masiva de productos por medio de ChatGPT, por pdf, excel o csv e id de proveedor")
     @PostMapping(path = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ProductValidationResponse> uploadFile(
@@ -186,96 +229,51 @@ public class ProductController {
             throw new IllegalArgumentException("El proveedor seleccionado no pertenece al usuario autenticado.");
         }
 
-        TableRowResponse result = parserService.parseFile(documents);
-
-        StringBuilder contenido = new StringBuilder();
-        contenido.append(String.join(", ", result.headers())).append("\n");
-        for (List<String> row : result.rows()) {
-            contenido.append(String.join(", ", row)).append("\n");
+        try (TableRowCursor cursor = parserService.openCursor(documents)) {
+            return ResponseEntity.ok(productImportService.importProducts(cursor, provider));
         }
-
-        String prompt = """
-            Analiza el contenido del siguiente archivo (PDF, Excel o CSV) y devuélvelo en formato JSON **exactamente** así:
-            
-            {
-              "validos": [
-                {
-                  "name": "...",
-                  "description": "...",
-                  "category": "...",
-                  "amount": 0,
-                  "sellPrice": 0.00
-                },
-                ...
-              ],
-              "invalidos": [
-                {
-                  "row": 0,
-                  "errors": ["campo: mensaje de error"]
-                },
-                ...
-              ]
-            }
-            
-            Instrucciones importantes:
-            
-            1. Los productos válidos deben cumplir las siguientes reglas:
-               - name: obligatorio, 3-50 caracteres
-               - description: obligatorio, 10-255 caracteres
-               - category: obligatorio, 3-50 caracteres
-               - amount: entero >= 0
-               - sellPrice: decimal >= 0.00, hasta 10 enteros y 2 decimales, **sin símbolos de moneda**
-            
-            2. Los productos inválidos deben listar la fila exacta (`row`) y los errores (`errors`) indicando específicamente el campo que no cumple.
-            
-            3. Los nombres de columnas pueden variar; intenta inferir cuál corresponde a cada campo según su contenido:
-               - name: columnas como "nombre de producto", "producto", "marca", o si no hay indicador claro, la que parezca el nombre del producto.
-               - description: columnas como "características", "especificaciones", o si no hay indicador claro, la que describa al producto.
-               - category: columnas como "tipo de producto", "clase de producto", "grupo de productos", "rubro de producto", o si no hay indicador claro, considera la que agrupe productos similares por función o uso general.
-               - amount: columnas como "cantidad", "stock", "inventario", o si no hay indicador claro, la que represente un número de unidades (sin kilos, gramos ni litros).
-               - sellPrice: columnas como "precio de venta", "precio sugerido", "valor de venta", "precio de mercado", o si no hay indicador claro, la que parezca un precio. **Si tiene símbolo de moneda, ignorarlo y devolver solo el número decimal.**
-               - teniendo en cuenta lo ya explicado, si llegase a existir un campo extra de los que no tenemos, dejarlo afuera y guardar los que correspondan.
-               Si no puedes inferir un campo, inclúyelo en los errores de esa fila con el mensaje: `"campo: no se pudo inferir"`.
-            
-            4. **No agregues símbolos de moneda, signos $, etiquetas de código, comillas invertidas, ni texto adicional. Devuelve únicamente el JSON limpio.**
-            
-            Aquí está el contenido del archivo:
-            """ + contenido;
-
-        String rawJson = openAiServiceWrapper.analizerProducts(prompt);
-
-        String cleanedJson = extractJson(rawJson);
-
-        ObjectMapper mapper = new ObjectMapper();
-        ProductValidationResponse aiResponse = mapper.readValue(cleanedJson, ProductValidationResponse.class);
-
-        productService.saveValidProducts(aiResponse.getValid(), provider);
-
-        return ResponseEntity.ok(aiResponse);
     }
-    private String extractJson(String response) {
-        if (response == null) return "";
 
-        String trimmed = response.trim();
+    @Operation(summary = "Carga masiva de productos en segundo plano; devuelve el ID de la importación para consultar su progreso")
+    @PostMapping(path = "/upload/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobResponse> uploadFileAsync(
+            @RequestPart("documents") MultipartFile documents,
+            @RequestParam("providerId") Long providerId,
+            UriComponentsBuilder uriComponentsBuilder) {
 
-        if (trimmed.startsWith("```")) {
-            int start = trimmed.indexOf("{");
-            int end = trimmed.lastIndexOf("}");
-            if (start >= 0 && end > start) {
-                return trimmed.substring(start, end + 1).trim();
-            }
+        if (documents == null || documents.isEmpty()) {
+            throw new FileParseException("El archivo no fue enviado o está vacío");
         }
 
-        if (trimmed.startsWith("{") && trimmed.endsWith("}")) {
-            return trimmed;
-        }
+        String email = SecurityUtil.getAuthenticatedEmail();
+
+        Provider provider = providerRepository.findById(providerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Proveedor", "ID", providerId));
 
-        int start = trimmed.indexOf("{");
-        int end = trimmed.lastIndexOf("}");
-        if (start >= 0 && end > start) {
-            return trimmed.substring(start, end + 1).trim();
+        if (!provider.getCreatedBy().equals(email)) {
+            throw new IllegalArgumentException("El proveedor seleccionado no pertenece al usuario autenticado.");
         }
 
-        return trimmed;
+        ImportJobResponse job = importJobService.submit(documents, provider, email);
+
+        URI url = uriComponentsBuilder.path("/api/products/upload/jobs/{id_job}")
+                .buildAndExpand(job.id())
+                .toUri();
+        return ResponseEntity.accepted().location(url).body(job);
+    }
+
+    @Operation(summary = "Consultar el progreso y resultado de una carga masiva en segundo plano")
+    @GetMapping("/upload/jobs/{id_job}")
+    public ResponseEntity<ImportJobResponse> getUploadJob(@PathVariable("id_job") Long idJob) {
+
+        String email = SecurityUtil.getAuthenticatedEmail();
+        return ResponseEntity.ok(importJobService.getJob(idJob, email));
+    }
+
+    @Operation(summary = "Estadísticas de aciertos de la caché de resultados de carga masiva (solo administradores)")
+    @GetMapping("/upload/cache/stats")
+    public ResponseEntity<ImportCacheStats> getUploadCacheStats() {
+        adminAccess.requireAdmin();
+        return ResponseEntity.ok(importResultCache.stats());
     }
 }
\ No newline at end of file
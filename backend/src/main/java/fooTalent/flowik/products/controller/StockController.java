@@ -1,22 +1,38 @@
 package fooTalent.flowik.products.controller;
 
+import fooTalent.flowik.config.SecurityUtil;
 import fooTalent.flowik.products.dto.ProductResponse;
+import fooTalent.flowik.products.dto.StockAtDate;
+import fooTalent.flowik.products.dto.StockLedgerPage;
+import fooTalent.flowik.products.dto.StockMovementSummary;
+import fooTalent.flowik.products.dto.StockMovementRequest;
+import fooTalent.flowik.products.dto.StockMovementResult;
 import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.services.StockLedgerService;
 import fooTalent.flowik.products.services.StockService;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/stock")
 @RequiredArgsConstructor
 public class StockController {
 
     private final StockService stockService;
+    private final StockLedgerService stockLedgerService;
 
     @Operation(summary = "Modificar Stock de productos por ID")
     @PostMapping("/adjust")
@@ -24,4 +40,41 @@ public class StockController {
         Product updatedProduct = stockService.adjustStock(productId, quantity);
         return ResponseEntity.ok(new ProductResponse(updatedProduct));
     }
+
+    @Operation(summary = "Aplicar varios movimientos de stock en una sola operación")
+    @PostMapping("/adjust/batch")
+    public ResponseEntity<List<StockMovementResult>> adjustStockBatch(@RequestBody @Valid StockMovementRequest request) {
+        String email = SecurityUtil.getAuthenticatedEmail();
+        return ResponseEntity.ok(stockService.adjustStockBatch(request.movements(), email));
+    }
+
+    @Operation(summary = "Historial de movimientos de stock de un producto, paginado por cursor")
+    @GetMapping("/{id_product}/movements")
+    public ResponseEntity<StockLedgerPage> getMovements(
+            @PathVariable("id_product") Long idProduct,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        String email = SecurityUtil.getAuthenticatedEmail();
+        return ResponseEntity.ok(stockLedgerService.getMovements(idProduct, email, from, to, cursor, size));
+    }
+
+    @Operation(summary = "Stock de un producto al cierre de una fecha")
+    @GetMapping("/{id_product}/at")
+    public ResponseEntity<StockAtDate> getStockAt(
+            @PathVariable("id_product") Long idProduct,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        String email = SecurityUtil.getAuthenticatedEmail();
+        return ResponseEntity.ok(stockLedgerService.getStockAt(idProduct, email, date));
+    }
+
+    @Operation(summary = "Resumen de entradas y salidas de stock por producto en un rango de fechas")
+    @GetMapping("/movements/summary")
+    public ResponseEntity<List<StockMovementSummary>> getSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        String email = SecurityUtil.getAuthenticatedEmail();
+        return ResponseEntity.ok(stockLedgerService.getSummary(email, from, to));
+    }
 }
\ No newline at end of file
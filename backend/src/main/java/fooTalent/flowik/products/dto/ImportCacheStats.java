@@ -0,0 +1,12 @@
+package fooTalent.flowik.products.dto;
+
+public record ImportCacheStats(
+        long hits,
+        long misses,
+        double hitRate,
+        int size,
+        int maxSize,
+        boolean persistent,
+        long storeErrors
+) {
+}
@@ -0,0 +1,38 @@
+package fooTalent.flowik.products.dto;
+
+import fooTalent.flowik.products.entities.ImportJob;
+import fooTalent.flowik.products.enums.ImportJobStatus;
+
+import java.time.LocalDateTime;
+
+public record ImportJobResponse(
+        Long id,
+        ImportJobStatus status,
+        String fileName,
+        int rowsParsed,
+        int batchesSent,
+        int batchesCompleted,
+        int validCount,
+        int invalidCount,
+        String errorMessage,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt,
+        ProductValidationResponse result
+) {
+    public ImportJobResponse(ImportJob job, ProductValidationResponse result) {
+        this(
+                job.getId(),
+                job.getStatus(),
+                job.getFileName(),
+                job.getRowsParsed(),
+                job.getBatchesSent(),
+                job.getBatchesCompleted(),
+                job.getValidCount(),
+                job.getInvalidCount(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getFinishedAt(),
+                result
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package fooTalent.flowik.products.dto;
+
+import java.math.BigDecimal;
+
+public record PriceAdjustPreview(
+        long affected,
+        boolean applied,
+        BigDecimal currentMin,
+        BigDecimal currentMax,
+        BigDecimal currentAverage,
+        BigDecimal newMin,
+        BigDecimal newMax,
+        BigDecimal newAverage
+) {
+}
@@ -0,0 +1,7 @@
+package fooTalent.flowik.products.dto;
+
+public record PriceAdjustResult(
+        int requested,
+        int updated
+) {
+}
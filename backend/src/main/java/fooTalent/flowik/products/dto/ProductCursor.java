@@ -0,0 +1,50 @@
+package fooTalent.flowik.products.dto;
+
+import fooTalent.flowik.exceptions.BadRequestException;
+import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.enums.ProductSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record ProductCursor(
+        ProductSortField sortBy,
+        String value,
+        Long id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ProductCursor of(ProductSortField sortBy, Product product) {
+        String value = switch (sortBy) {
+            case NAME -> product.getName();
+            case PRICE -> product.getSellPrice().toPlainString();
+            case AMOUNT -> product.getAmount().toString();
+            case BUY_DATE -> product.getBuyDate().toString();
+        };
+        return new ProductCursor(sortBy, value, product.getId());
+    }
+
+    public String encode() {
+        String raw = sortBy.name() + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || last <= first) {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new ProductCursor(
+                    ProductSortField.valueOf(raw.substring(0, first)),
+                    raw.substring(first + 1, last),
+                    Long.valueOf(raw.substring(last + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("El cursor de paginación no es válido.");
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package fooTalent.flowik.products.dto;
+
+import fooTalent.flowik.products.enums.StockLevel;
+
+public record ProductFilter(
+        String category,
+        Boolean active,
+        Long providerId,
+        StockLevel stockLevel
+) {
+}
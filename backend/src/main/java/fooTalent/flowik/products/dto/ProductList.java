@@ -33,4 +33,17 @@ public record ProductList(
                 p.isActive()
         );
     }
+
+    public ProductList(Product p, List<String> providers) {
+        this(
+                p.getId(),
+                p.getName(),
+                p.getCategory(),
+                p.getAmount(),
+                p.getSellPrice(),
+                p.getBuyDate(),
+                providers,
+                p.isActive()
+        );
+    }
 }
\ No newline at end of file
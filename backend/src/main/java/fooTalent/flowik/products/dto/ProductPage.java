@@ -0,0 +1,12 @@
+package fooTalent.flowik.products.dto;
+
+import java.util.List;
+
+public record ProductPage(
+        List<ProductList> content,
+        int size,
+        boolean hasNext,
+        String nextCursor,
+        Long totalElements
+) {
+}
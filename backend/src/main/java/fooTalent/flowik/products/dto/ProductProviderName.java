@@ -0,0 +1,7 @@
+package fooTalent.flowik.products.dto;
+
+public record ProductProviderName(
+        Long productId,
+        String providerName
+) {
+}
@@ -30,12 +30,16 @@ public class ProductValidationResponse {
     }
 
     public static class ValidProduct {
+        private Integer row;
         private String name;
         private String description;
         private String category;
         private Integer amount;
         private BigDecimal sellPrice;
 
+        public Integer getRow() { return row; }
+        public void setRow(Integer row) { this.row = row; }
+
         public String getName() { return name; }
         public void setName(String name) { this.name = name; }
 
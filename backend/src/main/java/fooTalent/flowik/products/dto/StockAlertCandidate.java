@@ -0,0 +1,11 @@
+package fooTalent.flowik.products.dto;
+
+public record StockAlertCandidate(
+        Long id,
+        String name,
+        Integer amount,
+        Integer lowStockThreshold,
+        Integer criticalStockThreshold,
+        String createdBy
+) {
+}
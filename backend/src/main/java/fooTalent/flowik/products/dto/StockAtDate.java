@@ -0,0 +1,10 @@
+package fooTalent.flowik.products.dto;
+
+import java.time.LocalDate;
+
+public record StockAtDate(
+        Long productId,
+        LocalDate date,
+        int amount
+) {
+}
@@ -0,0 +1,11 @@
+package fooTalent.flowik.products.dto;
+
+import java.util.List;
+
+public record StockLedgerPage(
+        List<StockLedgerResponse> content,
+        int size,
+        boolean hasNext,
+        Long nextCursor
+) {
+}
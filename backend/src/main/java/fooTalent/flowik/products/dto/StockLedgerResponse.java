@@ -0,0 +1,21 @@
+package fooTalent.flowik.products.dto;
+
+import fooTalent.flowik.products.entities.StockLedgerEntry;
+import fooTalent.flowik.products.enums.StockMovementReason;
+
+import java.time.LocalDateTime;
+
+public record StockLedgerResponse(
+        Long id,
+        Long productId,
+        int delta,
+        int amountAfter,
+        StockMovementReason reason,
+        String actor,
+        LocalDateTime createdAt
+) {
+    public StockLedgerResponse(StockLedgerEntry entry) {
+        this(entry.getId(), entry.getProductId(), entry.getDelta(), entry.getAmountAfter(),
+                entry.getReason(), entry.getActor(), entry.getCreatedAt());
+    }
+}
@@ -0,0 +1,13 @@
+package fooTalent.flowik.products.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record StockMovement(
+
+        @NotNull(message = "El ID del producto no puede ser nulo.")
+        Long productId,
+
+        @NotNull(message = "La cantidad no puede ser nula.")
+        Integer quantity
+) {
+}
@@ -0,0 +1,15 @@
+package fooTalent.flowik.products.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record StockMovementRequest(
+
+        @NotEmpty(message = "Debe indicar al menos un movimiento de stock.")
+        @Size(max = 1000, message = "No se pueden procesar más de 1000 movimientos por solicitud.")
+        List<@Valid StockMovement> movements
+) {
+}
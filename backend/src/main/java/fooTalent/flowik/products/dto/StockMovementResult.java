@@ -0,0 +1,9 @@
+package fooTalent.flowik.products.dto;
+
+public record StockMovementResult(
+        Long productId,
+        String name,
+        Integer previousAmount,
+        Integer amount
+) {
+}
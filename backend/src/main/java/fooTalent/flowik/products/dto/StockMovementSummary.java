@@ -0,0 +1,9 @@
+package fooTalent.flowik.products.dto;
+
+public record StockMovementSummary(
+        Long productId,
+        Long movements,
+        Long unitsIn,
+        Long unitsOut
+) {
+}
@@ -0,0 +1,9 @@
+package fooTalent.flowik.products.dto;
+
+import java.util.List;
+
+public record TableRow(
+        int number,
+        List<String> values
+) {
+}
@@ -0,0 +1,54 @@
+package fooTalent.flowik.products.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "import_cache_entry", indexes = {
+        @Index(name = "idx_import_cache_last_used", columnList = "last_used")
+})
+public class ImportCacheEntry implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGTEXT")
+    private String payload;
+
+    @Column(nullable = false, name = "last_used")
+    private LocalDate lastUsed;
+
+    @Transient
+    private boolean persisted;
+
+    public ImportCacheEntry(String hash, String payload, LocalDate lastUsed) {
+        this.hash = hash;
+        this.payload = payload;
+        this.lastUsed = lastUsed;
+    }
+
+    @Override
+    public String getId() {
+        return hash;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -0,0 +1,76 @@
+package fooTalent.flowik.products.entities;
+
+import fooTalent.flowik.products.enums.ImportJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "import_job", indexes = {
+        @Index(name = "idx_import_job_status", columnList = "status")
+})
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private ImportJobStatus status;
+
+    @Column(nullable = false, name = "provider_id")
+    private Long providerId;
+
+    @Column(nullable = false, name = "file_name")
+    private String fileName;
+
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(nullable = false, name = "rows_parsed")
+    private int rowsParsed;
+
+    @Column(nullable = false, name = "batches_sent")
+    private int batchesSent;
+
+    @Column(nullable = false, name = "batches_completed")
+    private int batchesCompleted;
+
+    @Column(nullable = false, name = "valid_count")
+    private int validCount;
+
+    @Column(nullable = false, name = "invalid_count")
+    private int invalidCount;
+
+    @Lob
+    @Column(columnDefinition = "LONGTEXT")
+    private String result;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    @Column(nullable = false, updatable = false, length = 150)
+    private String createdBy;
+
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        if (this.status == null) {
+            this.status = ImportJobStatus.PENDIENTE;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package fooTalent.flowik.products.entities;
 import fooTalent.flowik.config.SecurityUtil;
 import fooTalent.flowik.products.dto.ProductRegister;
 import fooTalent.flowik.products.dto.ProductUpdated;
+import fooTalent.flowik.products.enums.StockLevel;
 
 import fooTalent.flowik.providers.entities.Provider;
 import jakarta.persistence.*;
@@ -20,11 +21,18 @@ import java.util.List;
 @AllArgsConstructor
 @Getter @Setter
 @Entity
-@Table(name = "product")
+@Table(name = "product", indexes = {
+        @Index(name = "idx_product_created_by_name", columnList = "created_by, name, id"),
+        @Index(name = "idx_product_created_by_price", columnList = "created_by, sell_price, id"),
+        @Index(name = "idx_product_created_by_amount", columnList = "created_by, amount, id"),
+        @Index(name = "idx_product_stock_level", columnList = "stock_level, id"),
+        @Index(name = "idx_product_created_by_buy_date", columnList = "created_by, buy_date, id")
+})
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, name = "buy_date")
@@ -54,6 +62,10 @@ public class Product {
     @Column(name = "critical_stock_threshold")
     private Integer criticalStockThreshold;
 
+    @Column(name = "stock_level", length = 10)
+    @Enumerated(EnumType.STRING)
+    private StockLevel stockLevel;
+
     @ManyToMany
     @JoinTable(
             name = "product_provider",
@@ -67,7 +79,9 @@ public class Product {
 
     @PrePersist
     public void prePersist() {
-        this.createdBy = SecurityUtil.getAuthenticatedEmail();
+        if (this.createdBy == null) {
+            this.createdBy = SecurityUtil.getAuthenticatedEmail();
+        }
         this.isActive = true;
         if (this.buyDate == null) {
             this.buyDate = LocalDate.now();
@@ -78,6 +92,12 @@ public class Product {
         if (this.criticalStockThreshold == null) {
             this.criticalStockThreshold = 5;
         }
+        this.stockLevel = StockLevel.of(this.amount, this.lowStockThreshold, this.criticalStockThreshold);
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.stockLevel = StockLevel.of(this.amount, this.lowStockThreshold, this.criticalStockThreshold);
     }
 
 
@@ -0,0 +1,65 @@
+package fooTalent.flowik.products.entities;
+
+import fooTalent.flowik.products.enums.StockMovementReason;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "stock_movement", indexes = {
+        @Index(name = "idx_stock_movement_product_id", columnList = "product_id, id"),
+        @Index(name = "idx_stock_movement_product_date", columnList = "product_id, created_at"),
+        @Index(name = "idx_stock_movement_created_by_date", columnList = "created_by, created_at")
+})
+public class StockLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movement_seq")
+    @SequenceGenerator(name = "stock_movement_seq", sequenceName = "stock_movement_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private int delta;
+
+    @Column(nullable = false, name = "amount_after")
+    private int amountAfter;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private StockMovementReason reason;
+
+    @Column(nullable = false, length = 150)
+    private String actor;
+
+    @Column(nullable = false, name = "created_by", length = 150)
+    private String createdBy;
+
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    public StockLedgerEntry(Product product, int delta, StockMovementReason reason, String actor) {
+        this.productId = product.getId();
+        this.delta = delta;
+        this.amountAfter = product.getAmount();
+        this.reason = reason;
+        this.actor = actor;
+        this.createdBy = product.getCreatedBy();
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
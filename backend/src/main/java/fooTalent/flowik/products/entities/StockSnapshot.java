@@ -0,0 +1,36 @@
+package fooTalent.flowik.products.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter @Setter
+@Entity
+@Table(name = "stock_snapshot", indexes = {
+        @Index(name = "idx_stock_snapshot_product_taken_at", columnList = "product_id, taken_at"),
+        @Index(name = "idx_stock_snapshot_taken_at", columnList = "taken_at")
+})
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private int amount;
+
+    @Column(nullable = false, name = "created_by", length = 150)
+    private String createdBy;
+
+    @Column(nullable = false, name = "taken_at")
+    private LocalDateTime takenAt;
+}
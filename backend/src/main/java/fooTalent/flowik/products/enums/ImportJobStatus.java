@@ -0,0 +1,9 @@
+package fooTalent.flowik.products.enums;
+
+public enum ImportJobStatus {
+
+    PENDIENTE,
+    PROCESANDO,
+    COMPLETADO,
+    FALLIDO
+}
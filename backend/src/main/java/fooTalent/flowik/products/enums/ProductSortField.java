@@ -0,0 +1,19 @@
+package fooTalent.flowik.products.enums;
+
+public enum ProductSortField {
+
+    NAME("name"),
+    PRICE("sellPrice"),
+    AMOUNT("amount"),
+    BUY_DATE("buyDate");
+
+    private final String attribute;
+
+    ProductSortField(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+}
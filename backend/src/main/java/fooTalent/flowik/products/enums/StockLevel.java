@@ -0,0 +1,18 @@
+package fooTalent.flowik.products.enums;
+
+public enum StockLevel {
+
+    CRITICO,
+    BAJO,
+    NORMAL;
+
+    public static StockLevel of(int amount, Integer lowThreshold, Integer criticalThreshold) {
+        if (criticalThreshold != null && amount <= criticalThreshold) {
+            return CRITICO;
+        }
+        if (lowThreshold != null && amount <= lowThreshold) {
+            return BAJO;
+        }
+        return NORMAL;
+    }
+}
@@ -0,0 +1,10 @@
+package fooTalent.flowik.products.enums;
+
+public enum StockMovementReason {
+
+    AJUSTE,
+    AJUSTE_LOTE,
+    ALTA,
+    EDICION,
+    IMPORTACION
+}
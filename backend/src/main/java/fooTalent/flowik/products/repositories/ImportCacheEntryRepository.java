@@ -0,0 +1,23 @@
+package fooTalent.flowik.products.repositories;
+
+import fooTalent.flowik.products.entities.ImportCacheEntry;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+@Repository
+public interface ImportCacheEntryRepository extends JpaRepository<ImportCacheEntry, String> {
+
+    void deleteByLastUsedBefore(LocalDate threshold);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportCacheEntry e SET e.lastUsed = :today WHERE e.hash IN :hashes AND e.lastUsed < :today")
+    int touch(@Param("hashes") Collection<String> hashes, @Param("today") LocalDate today);
+}
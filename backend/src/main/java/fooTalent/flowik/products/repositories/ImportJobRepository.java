@@ -0,0 +1,51 @@
+package fooTalent.flowik.products.repositories;
+
+import fooTalent.flowik.products.entities.ImportJob;
+import fooTalent.flowik.products.enums.ImportJobStatus;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    Optional<ImportJob> findByIdAndCreatedBy(Long id, String createdBy);
+
+    List<ImportJob> findByStatusIn(Collection<ImportJobStatus> statuses);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = :status WHERE j.id = :id")
+    void updateStatus(@Param("id") Long id, @Param("status") ImportJobStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = :status, j.rowsParsed = 0, j.batchesSent = 0, " +
+            "j.batchesCompleted = 0, j.validCount = 0, j.invalidCount = 0 WHERE j.id = :id")
+    void resetProgress(@Param("id") Long id, @Param("status") ImportJobStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.rowsParsed = :rowsParsed, j.batchesSent = j.batchesSent + 1 WHERE j.id = :id")
+    void registerBatchSent(@Param("id") Long id, @Param("rowsParsed") int rowsParsed);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.rowsParsed = :rowsParsed, " +
+            "j.validCount = j.validCount + :valid, j.invalidCount = j.invalidCount + :invalid WHERE j.id = :id")
+    void registerLocalRows(@Param("id") Long id, @Param("rowsParsed") int rowsParsed,
+                           @Param("valid") int valid, @Param("invalid") int invalid);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.batchesCompleted = j.batchesCompleted + 1, " +
+            "j.validCount = j.validCount + :valid, j.invalidCount = j.invalidCount + :invalid WHERE j.id = :id")
+    void registerBatchCompleted(@Param("id") Long id, @Param("valid") int valid, @Param("invalid") int invalid);
+}
@@ -0,0 +1,20 @@
+package fooTalent.flowik.products.repositories;
+
+import java.math.BigDecimal;
+
+public interface PriceDistribution {
+
+    Long getAffected();
+
+    BigDecimal getCurrentMin();
+
+    BigDecimal getCurrentMax();
+
+    BigDecimal getCurrentAverage();
+
+    BigDecimal getNewMin();
+
+    BigDecimal getNewMax();
+
+    BigDecimal getNewAverage();
+}
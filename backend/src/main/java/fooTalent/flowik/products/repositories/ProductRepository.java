@@ -1,21 +1,107 @@
 package fooTalent.flowik.products.repositories;
 
+import fooTalent.flowik.products.dto.ProductProviderName;
+import fooTalent.flowik.products.dto.StockAlertCandidate;
 import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.enums.StockLevel;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+
+    String ADJUSTED_PRICE = "GREATEST(0, ROUND(p.sell_price * :factor + :delta, 2))";
+
+    String PRICE_SELECTION = "WHERE p.created_by = :email " +
+            "AND (:category IS NULL OR p.category = :category) " +
+            "AND (:active IS NULL OR p.is_active = :active) " +
+            "AND (:providerId IS NULL OR EXISTS (SELECT 1 FROM product_provider pp " +
+            "WHERE pp.product_id = p.id AND pp.provider_id = :providerId)) " +
+            "AND (:stockLevel IS NULL OR p.stock_level = :stockLevel)";
+
+    String LEVELS = "fooTalent.flowik.products.enums.StockLevel.";
+
+    String STOCK_LEVEL_AFTER_DELTA = "CASE WHEN p.amount + :delta <= p.criticalStockThreshold THEN " + LEVELS + "CRITICO " +
+            "WHEN p.amount + :delta <= p.lowStockThreshold THEN " + LEVELS + "BAJO ELSE " + LEVELS + "NORMAL END";
 
     @Modifying
     @Query("UPDATE Product p SET p.isActive = NOT p.isActive WHERE p.id IN :ids")
     void toggleProductsActiveState(@Param("ids") List<Long> Ids);
 
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE product SET sell_price = GREATEST(0, ROUND(sell_price * :factor + :delta, 2)) " +
+            "WHERE created_by = :email AND id IN (:ids)", nativeQuery = true)
+    int adjustSellPrice(@Param("email") String email, @Param("ids") Collection<Long> ids,
+                        @Param("factor") BigDecimal factor, @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE product p SET p.sell_price = " + ADJUSTED_PRICE + " " + PRICE_SELECTION, nativeQuery = true)
+    int adjustSellPriceBySelection(@Param("email") String email, @Param("category") String category,
+                                   @Param("active") Boolean active, @Param("providerId") Long providerId,
+                                   @Param("stockLevel") String stockLevel,
+                                   @Param("factor") BigDecimal factor, @Param("delta") BigDecimal delta);
+
+    @Query(value = "SELECT COUNT(*) AS affected, " +
+            "MIN(p.sell_price) AS currentMin, MAX(p.sell_price) AS currentMax, AVG(p.sell_price) AS currentAverage, " +
+            "MIN(" + ADJUSTED_PRICE + ") AS newMin, MAX(" + ADJUSTED_PRICE + ") AS newMax, " +
+            "AVG(" + ADJUSTED_PRICE + ") AS newAverage " +
+            "FROM product p " + PRICE_SELECTION, nativeQuery = true)
+    PriceDistribution previewSellPriceBySelection(@Param("email") String email, @Param("category") String category,
+                                                  @Param("active") Boolean active, @Param("providerId") Long providerId,
+                                                  @Param("stockLevel") String stockLevel,
+                                                  @Param("factor") BigDecimal factor, @Param("delta") BigDecimal delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockLevel = " + STOCK_LEVEL_AFTER_DELTA + ", p.amount = p.amount + :delta " +
+            "WHERE p.id = :id")
+    int addToAmount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids AND p.createdBy = :email ORDER BY p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids, @Param("email") String email);
+
+    @Query("SELECT new fooTalent.flowik.products.dto.StockAlertCandidate(p.id, p.name, p.amount, " +
+            "p.lowStockThreshold, p.criticalStockThreshold, p.createdBy) FROM Product p " +
+            "WHERE p.stockLevel = :level AND p.id > :afterId ORDER BY p.id")
+    List<StockAlertCandidate> findStockAlertCandidates(@Param("level") StockLevel level, @Param("afterId") Long afterId,
+                                                       Limit limit);
+
+    @Query("SELECT new fooTalent.flowik.products.dto.StockAlertCandidate(p.id, p.name, p.amount, " +
+            "p.lowStockThreshold, p.criticalStockThreshold, p.createdBy) FROM Product p " +
+            "WHERE p.id IN :ids AND p.stockLevel IN (" + LEVELS + "CRITICO, " + LEVELS + "BAJO)")
+    List<StockAlertCandidate> findStockAlertCandidatesByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE product SET stock_level = CASE WHEN amount <= critical_stock_threshold THEN 'CRITICO' " +
+            "WHEN amount <= low_stock_threshold THEN 'BAJO' ELSE 'NORMAL' END " +
+            "WHERE stock_level IS NULL", nativeQuery = true)
+    int initializeStockLevels();
+
     @Query("SELECT p.amount FROM Product p WHERE p.id = :id")
     Integer findAmountById(Long id);
+
+    List<Product> findByCreatedBy(String createdBy);
+
+    @Query("SELECT new fooTalent.flowik.products.dto.ProductProviderName(p.id, pr.name_provider) " +
+            "FROM Product p JOIN p.providers pr WHERE p.id IN :ids")
+    List<ProductProviderName> findProviderNamesByProductIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new fooTalent.flowik.products.dto.ProductProviderName(p.id, pr.name_provider) " +
+            "FROM Product p JOIN p.providers pr WHERE p.createdBy = :email")
+    List<ProductProviderName> findProviderNamesByCreatedBy(@Param("email") String email);
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package fooTalent.flowik.products.repositories;
+
+import fooTalent.flowik.products.dto.ProductFilter;
+import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.enums.StockLevel;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> ownedBy(String email) {
+        return (root, query, cb) -> cb.equal(root.get("createdBy"), email);
+    }
+
+    public static Specification<Product> matching(ProductFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) {
+                return cb.conjunction();
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.category() != null && !filter.category().isBlank()) {
+                predicates.add(cb.equal(root.get("category"), filter.category().trim()));
+            }
+            if (filter.active() != null) {
+                predicates.add(cb.equal(root.get("isActive"), filter.active()));
+            }
+            if (filter.providerId() != null) {
+                predicates.add(cb.equal(root.join("providers").get("id_provider"), filter.providerId()));
+            }
+            if (filter.stockLevel() != null) {
+                predicates.add(stockLevel(filter.stockLevel()).toPredicate(root, query, cb));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Product> stockLevel(StockLevel level) {
+        return (root, query, cb) -> cb.equal(root.get("stockLevel"), level);
+    }
+
+    public static <T extends Comparable<? super T>> Specification<Product> after(String attribute, T value, Long id,
+                                                                                 Sort.Direction direction) {
+        return (root, query, cb) -> {
+            Expression<T> field = root.get(attribute);
+            Expression<Long> idField = root.get("id");
+            if (direction.isAscending()) {
+                return cb.or(cb.greaterThan(field, value),
+                        cb.and(cb.equal(field, value), cb.greaterThan(idField, id)));
+            }
+            return cb.or(cb.lessThan(field, value),
+                    cb.and(cb.equal(field, value), cb.lessThan(idField, id)));
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package fooTalent.flowik.products.repositories;
+
+import fooTalent.flowik.products.dto.StockMovementSummary;
+import fooTalent.flowik.products.entities.StockLedgerEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockLedgerRepository extends JpaRepository<StockLedgerEntry, Long> {
+
+    @Query("SELECT m FROM StockLedgerEntry m WHERE m.productId = :productId " +
+            "AND m.createdAt >= :from AND m.createdAt < :to AND m.id < :before ORDER BY m.id DESC")
+    List<StockLedgerEntry> findHistory(@Param("productId") Long productId, @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to, @Param("before") Long before, Limit limit);
+
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM StockLedgerEntry m WHERE m.productId = :productId " +
+            "AND m.createdAt > :from AND m.createdAt < :to")
+    long sumDeltaBetween(@Param("productId") Long productId, @Param("from") LocalDateTime from,
+                         @Param("to") LocalDateTime to);
+
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM StockLedgerEntry m WHERE m.productId = :productId " +
+            "AND m.createdAt >= :from")
+    long sumDeltaSince(@Param("productId") Long productId, @Param("from") LocalDateTime from);
+
+    @Query("SELECT new fooTalent.flowik.products.dto.StockMovementSummary(m.productId, COUNT(m), " +
+            "SUM(CASE WHEN m.delta > 0 THEN m.delta ELSE 0 END), " +
+            "SUM(CASE WHEN m.delta < 0 THEN -m.delta ELSE 0 END)) " +
+            "FROM StockLedgerEntry m WHERE m.createdBy = :email AND m.createdAt >= :from AND m.createdAt < :to " +
+            "GROUP BY m.productId ORDER BY m.productId")
+    List<StockMovementSummary> summarize(@Param("email") String email, @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,34 @@
+package fooTalent.flowik.products.repositories;
+
+import fooTalent.flowik.products.entities.StockSnapshot;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    Optional<StockSnapshot> findFirstByProductIdAndTakenAtLessThanOrderByTakenAtDesc(Long productId,
+                                                                                   LocalDateTime before);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO stock_snapshot (product_id, amount, created_by, taken_at) " +
+            "SELECT p.id, p.amount, p.created_by, :takenAt FROM product p " +
+            "WHERE EXISTS (SELECT 1 FROM stock_movement m WHERE m.product_id = p.id " +
+            "AND m.created_at <= :takenAt " +
+            "AND m.created_at > COALESCE((SELECT MAX(s.taken_at) FROM stock_snapshot s " +
+            "WHERE s.product_id = p.id), '1000-01-01'))", nativeQuery = true)
+    int snapshotChanged(@Param("takenAt") LocalDateTime takenAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StockSnapshot s WHERE s.takenAt < :threshold")
+    int deleteByTakenAtBefore(@Param("threshold") LocalDateTime threshold);
+}
@@ -0,0 +1,32 @@
+package fooTalent.flowik.products.services;
+
+import fooTalent.flowik.products.dto.TableRow;
+
+import java.util.NoSuchElementException;
+
+abstract class AbstractRowCursor implements TableRowCursor {
+
+    private TableRow next;
+    private boolean finished;
+
+    protected abstract TableRow fetch();
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = fetch();
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public TableRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TableRow row = next;
+        next = null;
+        return row;
+    }
+}
@@ -0,0 +1,231 @@
+package fooTalent.flowik.products.services;
+
+import fooTalent.flowik.products.dto.ProductValidationResponse;
+import fooTalent.flowik.products.dto.TableRow;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+@Service
+public class ColumnMappingService {
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("9999999999.99");
+    private static final BigDecimal ROUNDING_TOLERANCE = new BigDecimal("0.000001");
+
+    public enum Field {
+        NAME("name", List.of("nombre", "nombre de producto", "nombre del producto", "nombre producto", "producto",
+                "articulo", "marca", "item", "name", "product")),
+        DESCRIPTION("description", List.of("descripcion", "descripcion del producto", "caracteristicas",
+                "especificaciones", "detalle", "description")),
+        CATEGORY("category", List.of("categoria", "tipo de producto", "clase de producto", "grupo de productos",
+                "rubro", "rubro de producto", "familia", "tipo", "category")),
+        AMOUNT("amount", List.of("cantidad", "stock", "inventario", "unidades", "existencias", "qty", "amount")),
+        SELL_PRICE("sellPrice", List.of("precio", "precio de venta", "precio sugerido", "valor de venta",
+                "precio de mercado", "pvp", "valor", "price", "sell price"));
+
+        private final String label;
+        private final List<String> synonyms;
+
+        Field(String label, List<String> synonyms) {
+            this.label = label;
+            this.synonyms = synonyms;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final Set<String> PRICE_EXCLUSIONS = Set.of("compra", "costo", "coste");
+
+    public record ColumnMapping(Map<Field, Integer> columns) {
+
+        public String value(TableRow row, Field field) {
+            int index = columns.get(field);
+            return index < row.values().size() ? row.values().get(index) : null;
+        }
+    }
+
+    public record RowResolution(ProductValidationResponse.ValidProduct valid,
+                                ProductValidationResponse.InvalidProduct invalid) {
+
+        public boolean resolved() {
+            return valid != null || invalid != null;
+        }
+    }
+
+    public Optional<ColumnMapping> inferMapping(List<String> headers, List<TableRow> sample) {
+        List<String> normalized = headers.stream().map(this::normalize).toList();
+        Map<Field, Integer> columns = new EnumMap<>(Field.class);
+        Set<Integer> used = new HashSet<>();
+
+        for (Field field : Field.values()) {
+            matchHeader(field, normalized, used, true).ifPresent(index -> {
+                columns.put(field, index);
+                used.add(index);
+            });
+        }
+        for (Field field : Field.values()) {
+            if (columns.containsKey(field)) continue;
+            matchHeader(field, normalized, used, false).ifPresent(index -> {
+                columns.put(field, index);
+                used.add(index);
+            });
+        }
+
+        if (!columns.containsKey(Field.SELL_PRICE)) {
+            sniff(headers.size(), sample, used, value -> parsePrice(value) != null).ifPresent(index -> {
+                columns.put(Field.SELL_PRICE, index);
+                used.add(index);
+            });
+        }
+
+        if (columns.size() != Field.values().length) {
+            return Optional.empty();
+        }
+        return Optional.of(new ColumnMapping(columns));
+    }
+
+    public RowResolution resolve(ColumnMapping mapping, TableRow row) {
+        String name = trimmed(mapping.value(row, Field.NAME));
+        String description = trimmed(mapping.value(row, Field.DESCRIPTION));
+        String category = trimmed(mapping.value(row, Field.CATEGORY));
+        String rawAmount = trimmed(mapping.value(row, Field.AMOUNT));
+        String rawPrice = trimmed(mapping.value(row, Field.SELL_PRICE));
+
+        List<String> errors = new ArrayList<>();
+        checkLength(errors, Field.NAME, name, 3, 50);
+        checkLength(errors, Field.DESCRIPTION, description, 10, 255);
+        checkLength(errors, Field.CATEGORY, category, 3, 50);
+
+        Integer amount = null;
+        if (rawAmount == null) {
+            errors.add("amount: es obligatorio");
+        } else {
+            BigDecimal parsed = TableValues.parseDecimal(rawAmount);
+            if (parsed == null) return new RowResolution(null, null);
+            if (parsed.stripTrailingZeros().scale() > 0) {
+                errors.add("amount: debe ser un número entero");
+            } else if (parsed.signum() < 0) {
+                errors.add("amount: debe ser mayor o igual a 0");
+            } else if (parsed.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) > 0) {
+                errors.add("amount: es demasiado grande");
+            } else {
+                amount = parsed.intValue();
+            }
+        }
+
+        BigDecimal sellPrice = null;
+        if (rawPrice == null) {
+            errors.add("sellPrice: es obligatorio");
+        } else {
+            BigDecimal parsed = parsePrice(rawPrice);
+            if (parsed == null) return new RowResolution(null, null);
+            if (parsed.signum() < 0) {
+                errors.add("sellPrice: debe ser mayor o igual a 0.00");
+            } else if (parsed.compareTo(MAX_PRICE) > 0) {
+                errors.add("sellPrice: debe tener hasta 10 enteros y 2 decimales");
+            } else {
+                sellPrice = parsed;
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            ProductValidationResponse.InvalidProduct invalid = new ProductValidationResponse.InvalidProduct();
+            invalid.setRow(row.number());
+            invalid.setErrors(errors);
+            return new RowResolution(null, invalid);
+        }
+
+        ProductValidationResponse.ValidProduct valid = new ProductValidationResponse.ValidProduct();
+        valid.setRow(row.number());
+        valid.setName(name);
+        valid.setDescription(description);
+        valid.setCategory(category);
+        valid.setAmount(amount);
+        valid.setSellPrice(sellPrice);
+        return new RowResolution(valid, null);
+    }
+
+    private Optional<Integer> matchHeader(Field field, List<String> headers, Set<Integer> used, boolean exact) {
+        Integer match = null;
+        for (int i = 0; i < headers.size(); i++) {
+            if (used.contains(i)) continue;
+            String header = headers.get(i);
+            if (field == Field.SELL_PRICE && PRICE_EXCLUSIONS.stream().anyMatch(header::contains)) continue;
+
+            boolean matches = exact
+                    ? field.synonyms.contains(header)
+                    : field.synonyms.stream().anyMatch(s -> (" " + header + " ").contains(" " + s + " "));
+            if (matches) {
+                if (match != null) return Optional.empty();
+                match = i;
+            }
+        }
+        return Optional.ofNullable(match);
+    }
+
+    private Optional<Integer> sniff(int columnCount, List<TableRow> sample, Set<Integer> used,
+                                    Predicate<String> test) {
+        if (sample.isEmpty()) return Optional.empty();
+
+        Integer match = null;
+        for (int i = 0; i < columnCount; i++) {
+            if (used.contains(i)) continue;
+            final int column = i;
+            boolean all = sample.stream()
+                    .map(row -> column < row.values().size() ? trimmed(row.values().get(column)) : null)
+                    .allMatch(value -> value != null && test.test(value));
+            if (all) {
+                if (match != null) return Optional.empty();
+                match = i;
+            }
+        }
+        return Optional.ofNullable(match);
+    }
+
+    private void checkLength(List<String> errors, Field field, String value, int min, int max) {
+        if (value == null) {
+            errors.add(field.getLabel() + ": es obligatorio");
+        } else if (value.length() < min || value.length() > max) {
+            errors.add(field.getLabel() + ": debe tener entre " + min + " y " + max + " caracteres");
+        }
+    }
+
+    BigDecimal parsePrice(String raw) {
+        BigDecimal value = TableValues.parseDecimal(raw);
+        if (value == null) return null;
+
+        BigDecimal rounded = value.setScale(2, RoundingMode.HALF_UP);
+        if (rounded.subtract(value).abs().compareTo(ROUNDING_TOLERANCE) > 0) {
+            return null;
+        }
+        return rounded;
+    }
+
+    private String normalize(String header) {
+        if (header == null) return "";
+        String stripped = ACCENTS.matcher(Normalizer.normalize(header, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private String trimmed(String value) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,50 @@
+package fooTalent.flowik.products.services;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import fooTalent.flowik.exceptions.util.FileParseException;
+import fooTalent.flowik.products.dto.TableRow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+class CsvRowCursor extends AbstractRowCursor {
+
+    private final CSVReader reader;
+    private final List<String> headers;
+    private int number = 1;
+
+    CsvRowCursor(InputStream inputStream) {
+        this.reader = new CSVReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String[] first = readLine();
+        this.headers = first != null ? Arrays.asList(first) : List.of();
+    }
+
+    @Override
+    public List<String> headers() {
+        return headers;
+    }
+
+    @Override
+    protected TableRow fetch() {
+        String[] line = readLine();
+        return line != null ? new TableRow(++number, Arrays.asList(line)) : null;
+    }
+
+    private String[] readLine() {
+        try {
+            return reader.readNext();
+        } catch (IOException | CsvValidationException e) {
+            throw new FileParseException("Error al procesar el CSV", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
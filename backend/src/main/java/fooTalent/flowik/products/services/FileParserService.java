@@ -1,132 +1,219 @@
 package fooTalent.flowik.products.services;
 
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvValidationException;
 import fooTalent.flowik.exceptions.util.FileParseException;
+import fooTalent.flowik.products.dto.TableRow;
 import fooTalent.flowik.products.dto.TableRowResponse;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
 @Service
 public class FileParserService {
 
+    private static final int FIRST_DATA_ROW = 2;
+    private static final Pattern LINE_BREAK = Pattern.compile("\\r?\\n");
+    private static final Pattern COLUMN_SEPARATOR = Pattern.compile("(\\t|\\s{2,})");
+
+    private final ExecutorService pdfExecutor;
+    private final int pdfParallelism;
+    private final int pdfPagesPerTask;
+
+    public FileParserService(@Value("${products.import.pdf.parallelism:4}") int pdfParallelism,
+                             @Value("${products.import.pdf.pages-per-task:20}") int pdfPagesPerTask) {
+        this.pdfParallelism = Math.max(1, pdfParallelism);
+        this.pdfExecutor = Executors.newFixedThreadPool(this.pdfParallelism);
+        this.pdfPagesPerTask = Math.max(1, pdfPagesPerTask);
+    }
+
     public TableRowResponse parseFile(MultipartFile documents) throws Exception {
+        return parseFile(documents.getOriginalFilename(), documents.getInputStream());
+    }
+
+    public TableRowResponse parseFile(String filename, InputStream inputStream) throws Exception {
+        try (TableRowCursor cursor = openCursor(filename, inputStream)) {
+            List<List<String>> rows = new ArrayList<>();
+            cursor.forEachRemaining(row -> rows.add(row.values()));
+            return new TableRowResponse(cursor.headers(), rows);
+        }
+    }
+
+    public TableRowCursor openCursor(MultipartFile documents) throws IOException {
+        return openCursor(documents.getOriginalFilename(), documents.getInputStream());
+    }
+
+    public TableRowCursor openCursor(String filename, InputStream inputStream) throws IOException {
 
-        String filename = documents.getOriginalFilename();
         if (filename == null) throw new FileParseException("El archivo no es válido o está vacío");
         String lower = filename.toLowerCase(Locale.ROOT);
 
         if (lower.endsWith(".xlsx") || filename.endsWith(".xls")) {
-            return parseExcel(documents.getInputStream());
+            return openExcel(inputStream);
         }
         if (lower.endsWith(".csv")) {
-            return parseCsv(documents.getInputStream());
+            return new CsvRowCursor(inputStream);
         }
         if (lower.endsWith(".pdf")) {
-            return parsePdf(documents.getInputStream());
+            return parsePdf(inputStream);
         } else {
             throw new FileParseException("Formato no soportado: " + filename);
         }
     }
 
-    private TableRowResponse parseExcel(InputStream inputStream) throws IOException {
+    private TableRowCursor openExcel(InputStream inputStream) throws IOException {
+        InputStream in = FileMagic.prepareToCheckMagic(inputStream);
+        if (FileMagic.valueOf(in) == FileMagic.OOXML) {
+            return new XlsxRowCursor(in);
+        }
+        return parseLegacyExcel(in);
+    }
+
+    private TableRowCursor parseLegacyExcel(InputStream inputStream) throws IOException {
         try (Workbook workbook = WorkbookFactory.create(inputStream)) {
             Sheet sheet = workbook.getSheetAt(0);
             List<String> headers = new ArrayList<>();
-            List<List<String>> rows = new ArrayList<>();
+            List<TableRow> rows = new ArrayList<>();
             boolean firstRow = true;
             for (Row row : sheet) {
                 List<String> rowData = new ArrayList<>();
                 for (Cell cell : row) {
+                    while (rowData.size() < cell.getColumnIndex()) rowData.add("");
                     rowData.add(getCellValue(cell));
                 }
                 if (firstRow) {
                     headers = rowData;
                     firstRow = false;
                 } else {
-                    rows.add(rowData);
+                    rows.add(new TableRow(row.getRowNum() + 1, rowData));
                 }
             }
-            return new TableRowResponse(headers, rows);
+            return new ListRowCursor(headers, rows);
         }
     }
 
-    private TableRowResponse parseCsv(InputStream inputStream) throws IOException {
-        List<String> headers = new ArrayList<>();
-        List<List<String>> rows = new ArrayList<>();
-
-        try (CSVReader reader = new CSVReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String[] line;
-            boolean firstRow = true;
-            while ((line = reader.readNext()) != null) {
-                if (firstRow) {
-                    headers = Arrays.asList(line);
-                    firstRow = false;
-                } else {
-                    rows.add(Arrays.asList(line));
-                }
+    private TableRowCursor parsePdf(InputStream inputStream) throws IOException {
+        Path tempFile = Files.createTempFile("flowik-pdf-", ".pdf");
+        try {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+
+            List<List<String>> rows;
+            try (PDDocument document = PDDocument.load(tempFile.toFile(), MemoryUsageSetting.setupTempFileOnly())) {
+                int pages = document.getNumberOfPages();
+                rows = pages <= pdfPagesPerTask
+                        ? extractPdfRows(document, 1, pages)
+                        : extractPdfRowsInParallel(tempFile, pages);
             }
-        } catch (CsvValidationException e) {
-            throw new FileParseException("Error al procesar el CSV", e);
-        }
-        return new TableRowResponse(headers, rows);
-    }
-
-    private TableRowResponse parsePdf(InputStream inputStream) throws IOException {
-        try (PDDocument document = PDDocument.load(inputStream)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            String rawText = stripper.getText(document);
 
-            if (rawText == null || rawText.isBlank()) {
+            if (rows.isEmpty()) {
                 throw new IllegalArgumentException("El PDF no contiene texto legible.");
             }
 
-            String[] lines = rawText.replace("\u00A0", " ").split("\\r?\\n");
-            List<String> headers = new ArrayList<>();
-            List<List<String>> rows = new ArrayList<>();
-
-            for (String line : lines) {
-                if (line.isBlank()) continue;
-
-                String[] parts = line.trim().split("(\\t|\\s{2,})");
+            int maxCols = 1;
+            for (List<String> row : rows) maxCols = Math.max(maxCols, row.size());
 
-                List<String> row = Arrays.stream(parts)
-                        .map(String::trim)
-                        .filter(s -> !s.isEmpty())
-                        .toList();
+            List<String> headers;
+            int first = 0;
+            if (rows.get(0).size() == maxCols) {
+                headers = rows.get(0);
+                first = 1;
+            } else {
+                headers = generateGenericHeaders(maxCols);
+            }
 
-                if (row.isEmpty()) continue;
-                rows.add(row);
+            List<TableRow> numbered = new ArrayList<>(rows.size() - first);
+            int number = FIRST_DATA_ROW;
+            for (List<String> row : rows.subList(first, rows.size())) {
+                while (row.size() < maxCols) row.add("");
+                numbered.add(new TableRow(number++, row));
             }
+            return new ListRowCursor(headers, numbered);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
 
-            if (rows.isEmpty()) {
-                throw new IllegalArgumentException("No se detectaron filas en el PDF.");
+    // PDDocument no es thread-safe: cada grupo de rangos carga su propia copia una sola vez,
+    // así que en memoria hay como máximo pdfParallelism documentos a la vez.
+    private List<List<String>> extractPdfRowsInParallel(Path file, int pages) throws IOException {
+        int ranges = (pages + pdfPagesPerTask - 1) / pdfPagesPerTask;
+        int rangesPerGroup = (ranges + pdfParallelism - 1) / pdfParallelism;
+        int pagesPerGroup = rangesPerGroup * pdfPagesPerTask;
+
+        List<Future<List<List<String>>>> chunks = new ArrayList<>();
+        try {
+            for (int start = 1; start <= pages; start += pagesPerGroup) {
+                int from = start;
+                int to = Math.min(pages, start + pagesPerGroup - 1);
+                chunks.add(pdfExecutor.submit(() -> {
+                    try (PDDocument document = PDDocument.load(file.toFile(), MemoryUsageSetting.setupTempFileOnly())) {
+                        List<List<String>> rows = new ArrayList<>();
+                        for (int page = from; page <= to; page += pdfPagesPerTask) {
+                            rows.addAll(extractPdfRows(document, page, Math.min(to, page + pdfPagesPerTask - 1)));
+                        }
+                        return rows;
+                    }
+                }));
             }
 
-            int maxCols = rows.stream().mapToInt(List::size).max().orElse(1);
-            if (rows.get(0).size() == maxCols) {
-                headers = rows.remove(0);
-            } else {
-                headers = generateGenericHeaders(maxCols);
+            List<List<String>> rows = new ArrayList<>();
+            for (Future<List<List<String>>> chunk : chunks) {
+                rows.addAll(chunk.get());
             }
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileParseException("Se interrumpió el procesamiento del PDF", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) throw cause;
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new FileParseException("Error al procesar el PDF", e.getCause());
+        } finally {
+            chunks.forEach(chunk -> chunk.cancel(true));
+        }
+    }
+
+    private List<List<String>> extractPdfRows(PDDocument document, int startPage, int endPage) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(startPage);
+        stripper.setEndPage(endPage);
+        String text = stripper.getText(document);
+
+        List<List<String>> rows = new ArrayList<>();
+        if (text == null || text.isBlank()) return rows;
 
-            rows = normalizeRows(rows, maxCols);
+        for (String line : LINE_BREAK.split(text.replace('\u00A0', ' '))) {
+            if (line.isBlank()) continue;
 
-            return new TableRowResponse(headers, rows);
+            String[] parts = COLUMN_SEPARATOR.split(line.trim());
+            List<String> row = new ArrayList<>(parts.length);
+            for (String part : parts) {
+                String value = part.trim();
+                if (!value.isEmpty()) row.add(value);
+            }
+
+            if (!row.isEmpty()) rows.add(row);
         }
+        return rows;
     }
 
     private List<String> generateGenericHeaders(int count) {
@@ -135,15 +222,6 @@ public class FileParserService {
                 .toList();
     }
 
-    private List<List<String>> normalizeRows(List<List<String>> rows, int maxCols) {
-        return rows.stream()
-                .map(row -> {
-                    List<String> normalized = new ArrayList<>(row);
-                    while (normalized.size() < maxCols) normalized.add("");
-                    return normalized;
-                })
-                .toList();
-    }
     private String getCellValue(Cell cell) {
         if (cell == null) return "";
         return switch (cell.getCellType()) {
@@ -159,4 +237,9 @@ public class FileParserService {
             default -> "";
         };
     }
-}
\ No newline at end of file
+
+    @PreDestroy
+    public void shutdown() {
+        pdfExecutor.shutdownNow();
+    }
+}
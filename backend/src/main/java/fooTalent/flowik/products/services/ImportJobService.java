@@ -0,0 +1,210 @@
+package fooTalent.flowik.products.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fooTalent.flowik.exceptions.OpenAiQuotaExceededException;
+import fooTalent.flowik.exceptions.ResourceNotFoundException;
+import fooTalent.flowik.exceptions.ServiceUnavailableException;
+import fooTalent.flowik.exceptions.util.FileParseException;
+import fooTalent.flowik.products.dto.ImportJobResponse;
+import fooTalent.flowik.products.dto.ProductValidationResponse;
+import fooTalent.flowik.products.entities.ImportJob;
+import fooTalent.flowik.products.enums.ImportJobStatus;
+import fooTalent.flowik.products.repositories.ImportJobRepository;
+import fooTalent.flowik.providers.entities.Provider;
+import fooTalent.flowik.providers.repositories.ProviderRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class ImportJobService {
+
+    private static final String QUEUE_FULL = "Hay demasiadas importaciones en curso, inténtalo más tarde.";
+    private static final String UNEXPECTED_ERROR = "Ha ocurrido un error inesperado al procesar la importación.";
+
+    private final ImportJobRepository importJobRepository;
+    private final ProviderRepository providerRepository;
+    private final FileParserService parserService;
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor jobExecutor;
+    private final Path storageDir;
+
+    public ImportJobService(ImportJobRepository importJobRepository,
+                            ProviderRepository providerRepository,
+                            FileParserService parserService,
+                            ProductImportService productImportService,
+                            ObjectMapper objectMapper,
+                            @Value("${products.import.jobs.workers:2}") int workers,
+                            @Value("${products.import.jobs.queue-capacity:50}") int queueCapacity,
+                            @Value("${products.import.jobs.storage-dir:${java.io.tmpdir}/flowik-imports}") String storageDir) {
+        this.importJobRepository = importJobRepository;
+        this.providerRepository = providerRepository;
+        this.parserService = parserService;
+        this.productImportService = productImportService;
+        this.objectMapper = objectMapper;
+        this.storageDir = Path.of(storageDir);
+        int poolSize = Math.max(1, workers);
+        this.jobExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)));
+    }
+
+    public ImportJobResponse submit(MultipartFile documents, Provider provider, String email) {
+        ImportJob job = new ImportJob();
+        job.setProviderId(provider.getId_provider());
+        job.setFileName(documents.getOriginalFilename());
+        job.setCreatedBy(email);
+        job = importJobRepository.save(job);
+
+        Path file = storageDir.resolve("import-" + job.getId() + ".upload");
+        try {
+            Files.createDirectories(storageDir);
+            documents.transferTo(file);
+            job.setFilePath(file.toString());
+            job = importJobRepository.save(job);
+        } catch (IOException e) {
+            fail(job.getId(), "No se pudo almacenar el archivo para procesarlo.");
+            deleteUpload(file.toString());
+            throw new FileParseException("No se pudo almacenar el archivo para procesarlo.", e);
+        }
+
+        enqueue(job.getId());
+        return new ImportJobResponse(job, null);
+    }
+
+    public ImportJobResponse getJob(Long id, String email) {
+        ImportJob job = importJobRepository.findByIdAndCreatedBy(id, email)
+                .orElseThrow(() -> new ResourceNotFoundException("Importación", "ID", id));
+
+        ProductValidationResponse result = null;
+        if (job.getResult() != null) {
+            try {
+                result = objectMapper.readValue(job.getResult(), ProductValidationResponse.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("El resultado de la importación está dañado.");
+            }
+        }
+        return new ImportJobResponse(job, result);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        List<ImportJob> unfinished = importJobRepository.findByStatusIn(
+                List.of(ImportJobStatus.PENDIENTE, ImportJobStatus.PROCESANDO));
+
+        for (ImportJob job : unfinished) {
+            if (job.getFilePath() == null || !Files.exists(Path.of(job.getFilePath()))) {
+                fail(job.getId(), "El archivo de la importación no está disponible tras el reinicio del servidor.");
+                continue;
+            }
+            importJobRepository.resetProgress(job.getId(), ImportJobStatus.PENDIENTE);
+            tryEnqueue(job.getId());
+        }
+    }
+
+    private void enqueue(Long jobId) {
+        if (!tryEnqueue(jobId)) {
+            throw new ServiceUnavailableException(QUEUE_FULL);
+        }
+    }
+
+    private boolean tryEnqueue(Long jobId) {
+        try {
+            jobExecutor.execute(() -> run(jobId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            fail(jobId, QUEUE_FULL);
+            return false;
+        }
+    }
+
+    private void run(Long jobId) {
+        ImportJob job = importJobRepository.findById(jobId).orElse(null);
+        if (job == null) return;
+
+        Path file = Path.of(job.getFilePath());
+        try {
+            importJobRepository.updateStatus(jobId, ImportJobStatus.PROCESANDO);
+
+            Provider provider = providerRepository.findById(job.getProviderId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Proveedor", "ID", job.getProviderId()));
+
+            ProductValidationResponse result;
+            try (InputStream in = Files.newInputStream(file);
+                 TableRowCursor cursor = parserService.openCursor(job.getFileName(), in)) {
+                result = productImportService.importProducts(cursor, provider, progressOf(jobId));
+            }
+
+            ImportJob finished = importJobRepository.findById(jobId).orElseThrow();
+            finished.setStatus(ImportJobStatus.COMPLETADO);
+            finished.setValidCount(result.getValid().size());
+            finished.setInvalidCount(result.getInvalid().size());
+            finished.setResult(objectMapper.writeValueAsString(result));
+            finished.setFinishedAt(LocalDateTime.now());
+            importJobRepository.save(finished);
+        } catch (FileParseException | OpenAiQuotaExceededException | ResourceNotFoundException e) {
+            fail(jobId, e.getMessage());
+        } catch (Exception e) {
+            fail(jobId, UNEXPECTED_ERROR);
+        } finally {
+            deleteUpload(job.getFilePath());
+        }
+    }
+
+    private ImportProgressListener progressOf(Long jobId) {
+        return new ImportProgressListener() {
+            @Override
+            public void onBatchSent(int rowsParsed) {
+                importJobRepository.registerBatchSent(jobId, rowsParsed);
+            }
+
+            @Override
+            public void onBatchCompleted(int valid, int invalid) {
+                importJobRepository.registerBatchCompleted(jobId, valid, invalid);
+            }
+
+            @Override
+            public void onRowsResolvedLocally(int rowsParsed, int valid, int invalid) {
+                importJobRepository.registerLocalRows(jobId, rowsParsed, valid, invalid);
+            }
+        };
+    }
+
+    private void fail(Long jobId, String message) {
+        importJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(ImportJobStatus.FALLIDO);
+            job.setErrorMessage(message.length() > 255 ? message.substring(0, 255) : message);
+            job.setFinishedAt(LocalDateTime.now());
+            importJobRepository.save(job);
+            deleteUpload(job.getFilePath());
+        });
+    }
+
+    private void deleteUpload(String filePath) {
+        if (filePath == null) return;
+        try {
+            Files.deleteIfExists(Path.of(filePath));
+        } catch (IOException ignored) {
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+}
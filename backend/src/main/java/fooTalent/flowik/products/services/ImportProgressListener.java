@@ -0,0 +1,16 @@
+package fooTalent.flowik.products.services;
+
+public interface ImportProgressListener {
+
+    ImportProgressListener NONE = new ImportProgressListener() {
+    };
+
+    default void onBatchSent(int rowsParsed) {
+    }
+
+    default void onBatchCompleted(int valid, int invalid) {
+    }
+
+    default void onRowsResolvedLocally(int rowsParsed, int valid, int invalid) {
+    }
+}
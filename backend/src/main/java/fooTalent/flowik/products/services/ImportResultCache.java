@@ -0,0 +1,216 @@
+package fooTalent.flowik.products.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fooTalent.flowik.products.dto.ImportCacheStats;
+import fooTalent.flowik.products.dto.ProductValidationResponse;
+import fooTalent.flowik.products.dto.TableRow;
+import fooTalent.flowik.products.entities.ImportCacheEntry;
+import fooTalent.flowik.products.repositories.ImportCacheEntryRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+@Service
+public class ImportResultCache {
+
+    private static final String PROMPT_VERSION = "v1";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public record CachedRow(ProductValidationResponse.ValidProduct valid, List<String> errors) {
+    }
+
+    private final ImportCacheEntryRepository repository;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final boolean persistent;
+    private final int ttlDays;
+    private final Map<String, CachedRow> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong storeErrors = new AtomicLong();
+
+    public ImportResultCache(ImportCacheEntryRepository repository,
+                             ObjectMapper objectMapper,
+                             @Value("${products.import.cache.max-size:50000}") int maxSize,
+                             @Value("${products.import.cache.persistent:false}") boolean persistent,
+                             @Value("${products.import.cache.ttl-days:30}") int ttlDays) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.maxSize = Math.max(1, maxSize);
+        this.persistent = persistent;
+        this.ttlDays = ttlDays;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedRow> eldest) {
+                return size() > ImportResultCache.this.maxSize;
+            }
+        };
+    }
+
+    public String keyOf(List<String> headers, TableRow row) {
+        StringBuilder content = new StringBuilder(PROMPT_VERSION).append('\n');
+        headers.forEach(h -> content.append(normalize(h)).append('\u001F'));
+        content.append('\n');
+        row.values().forEach(v -> content.append(normalize(v)).append('\u001F'));
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Map<Integer, ProductValidationResponse> lookupAll(List<String> headers, List<TableRow> rows) {
+        Map<TableRow, String> keys = new LinkedHashMap<>();
+        rows.forEach(row -> keys.put(row, keyOf(headers, row)));
+
+        Map<String, CachedRow> found = new HashMap<>();
+        synchronized (entries) {
+            keys.values().forEach(key -> {
+                CachedRow cached = entries.get(key);
+                if (cached != null) found.put(key, cached);
+            });
+        }
+
+        if (persistent) {
+            Set<String> missing = new HashSet<>(keys.values());
+            missing.removeAll(found.keySet());
+            if (!missing.isEmpty()) {
+                Map<String, CachedRow> loaded = new HashMap<>();
+                for (ImportCacheEntry entry : repository.findAllById(missing)) {
+                    CachedRow cached = fromEntry(entry);
+                    if (cached != null) loaded.put(entry.getHash(), cached);
+                }
+                synchronized (entries) {
+                    entries.putAll(loaded);
+                }
+                found.putAll(loaded);
+            }
+            if (!found.isEmpty()) {
+                repository.touch(found.keySet(), LocalDate.now());
+            }
+        }
+
+        Map<Integer, ProductValidationResponse> hitsByRow = new HashMap<>();
+        keys.forEach((row, key) -> {
+            CachedRow cached = found.get(key);
+            if (cached != null) hitsByRow.put(row.number(), toResponse(cached, row.number()));
+        });
+        hits.addAndGet(hitsByRow.size());
+        misses.addAndGet(rows.size() - hitsByRow.size());
+        return hitsByRow;
+    }
+
+    public void store(List<String> headers, List<TableRow> batch, ProductValidationResponse response) {
+        Map<Integer, CachedRow> byRow = new LinkedHashMap<>();
+        for (ProductValidationResponse.ValidProduct valid : response.getValid()) {
+            if (valid.getRow() != null) byRow.putIfAbsent(valid.getRow(), new CachedRow(valid, null));
+        }
+        for (ProductValidationResponse.InvalidProduct invalid : response.getInvalid()) {
+            byRow.putIfAbsent(invalid.getRow(), new CachedRow(null, invalid.getErrors()));
+        }
+
+        Map<String, CachedRow> fresh = new LinkedHashMap<>();
+        for (TableRow row : batch) {
+            CachedRow cached = byRow.get(row.number());
+            if (cached != null) fresh.put(keyOf(headers, row), cached);
+        }
+        if (fresh.isEmpty()) return;
+
+        synchronized (entries) {
+            entries.putAll(fresh);
+        }
+        if (persistent) {
+            List<ImportCacheEntry> rows = new ArrayList<>(fresh.size());
+            fresh.forEach((key, cached) -> toEntry(key, cached).ifPresent(rows::add));
+            try {
+                repository.saveAll(rows);
+            } catch (RuntimeException e) {
+                storeErrors.addAndGet(rows.size());
+            }
+        }
+    }
+
+    public ImportCacheStats stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long total = hitCount + missCount;
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new ImportCacheStats(hitCount, missCount, total == 0 ? 0.0 : (double) hitCount / total,
+                size, maxSize, persistent, storeErrors.get());
+    }
+
+    @Scheduled(cron = "0 30 2 * * ?")
+    @Transactional
+    public void deleteExpiredEntries() {
+        if (persistent) {
+            repository.deleteByLastUsedBefore(LocalDate.now().minusDays(ttlDays));
+        }
+    }
+
+    private ProductValidationResponse toResponse(CachedRow cached, int rowNumber) {
+        ProductValidationResponse response = new ProductValidationResponse();
+        response.setValid(new ArrayList<>());
+        response.setInvalid(new ArrayList<>());
+
+        if (cached.valid() != null) {
+            ProductValidationResponse.ValidProduct valid = new ProductValidationResponse.ValidProduct();
+            valid.setRow(rowNumber);
+            valid.setName(cached.valid().getName());
+            valid.setDescription(cached.valid().getDescription());
+            valid.setCategory(cached.valid().getCategory());
+            valid.setAmount(cached.valid().getAmount());
+            valid.setSellPrice(cached.valid().getSellPrice());
+            response.getValid().add(valid);
+        } else {
+            ProductValidationResponse.InvalidProduct invalid = new ProductValidationResponse.InvalidProduct();
+            invalid.setRow(rowNumber);
+            invalid.setErrors(cached.errors());
+            response.getInvalid().add(invalid);
+        }
+        return response;
+    }
+
+    private Optional<ImportCacheEntry> toEntry(String key, CachedRow cached) {
+        try {
+            return Optional.of(new ImportCacheEntry(key, objectMapper.writeValueAsString(cached), LocalDate.now()));
+        } catch (JsonProcessingException e) {
+            storeErrors.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    private CachedRow fromEntry(ImportCacheEntry entry) {
+        try {
+            return objectMapper.readValue(entry.getPayload(), CachedRow.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String normalize(String value) {
+        return value == null ? "" : WHITESPACE.matcher(value.trim()).replaceAll(" ");
+    }
+}
@@ -0,0 +1,31 @@
+package fooTalent.flowik.products.services;
+
+import fooTalent.flowik.products.dto.TableRow;
+
+import java.util.Iterator;
+import java.util.List;
+
+class ListRowCursor extends AbstractRowCursor {
+
+    private final List<String> headers;
+    private final Iterator<TableRow> rows;
+
+    ListRowCursor(List<String> headers, List<TableRow> rows) {
+        this.headers = headers;
+        this.rows = rows.iterator();
+    }
+
+    @Override
+    public List<String> headers() {
+        return headers;
+    }
+
+    @Override
+    protected TableRow fetch() {
+        return rows.hasNext() ? rows.next() : null;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,344 @@
+package fooTalent.flowik.products.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fooTalent.flowik.exceptions.OpenAiQuotaExceededException;
+import fooTalent.flowik.products.dto.ProductValidationResponse;
+import fooTalent.flowik.products.dto.TableRow;
+import fooTalent.flowik.providers.entities.Provider;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class ProductImportService {
+
+    private static final int MAPPING_SAMPLE_SIZE = 20;
+
+    private static final String PROMPT = """
+            Analiza el contenido del siguiente archivo (PDF, Excel o CSV) y devuélvelo en formato JSON **exactamente** así:
+
+            {
+              "validos": [
+                {
+                  "row": 0,
+                  "name": "...",
+                  "description": "...",
+                  "category": "...",
+                  "amount": 0,
+                  "sellPrice": 0.00
+                },
+                ...
+              ],
+              "invalidos": [
+                {
+                  "row": 0,
+                  "errors": ["campo: mensaje de error"]
+                },
+                ...
+              ]
+            }
+
+            Instrucciones importantes:
+
+            1. Los productos válidos deben cumplir las siguientes reglas:
+               - name: obligatorio, 3-50 caracteres
+               - description: obligatorio, 10-255 caracteres
+               - category: obligatorio, 3-50 caracteres
+               - amount: entero >= 0
+               - sellPrice: decimal >= 0.00, hasta 10 enteros y 2 decimales, **sin símbolos de moneda**
+
+            2. Los productos inválidos deben listar la fila exacta (`row`) y los errores (`errors`) indicando específicamente el campo que no cumple.
+
+            3. Los nombres de columnas pueden variar; intenta inferir cuál corresponde a cada campo según su contenido:
+               - name: columnas como "nombre de producto", "producto", "marca", o si no hay indicador claro, la que parezca el nombre del producto.
+               - description: columnas como "características", "especificaciones", o si no hay indicador claro, la que describa al producto.
+               - category: columnas como "tipo de producto", "clase de producto", "grupo de productos", "rubro de producto", o si no hay indicador claro, considera la que agrupe productos similares por función o uso general.
+               - amount: columnas como "cantidad", "stock", "inventario", o si no hay indicador claro, la que represente un número de unidades (sin kilos, gramos ni litros).
+               - sellPrice: columnas como "precio de venta", "precio sugerido", "valor de venta", "precio de mercado", o si no hay indicador claro, la que parezca un precio. **Si tiene símbolo de moneda, ignorarlo y devolver solo el número decimal.**
+               - teniendo en cuenta lo ya explicado, si llegase a existir un campo extra de los que no tenemos, dejarlo afuera y guardar los que correspondan.
+               Si no puedes inferir un campo, inclúyelo en los errores de esa fila con el mensaje: `"campo: no se pudo inferir"`.
+
+            4. **No agregues símbolos de moneda, signos $, etiquetas de código, comillas invertidas, ni texto adicional. Devuelve únicamente el JSON limpio.**
+
+            5. Cada fila del contenido comienza con su número (`fila N:`). Usa exactamente ese número en `row`, tanto en válidos como en inválidos, y no omitas ninguna fila.
+
+            Aquí está el contenido del archivo:
+            """;
+
+    private final OpenAiServiceWrapper openAiServiceWrapper;
+    private final ColumnMappingService columnMappingService;
+    private final ImportResultCache resultCache;
+    private final ProductServiceImpl productService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService batchExecutor;
+    private final int batchSize;
+    private final int parallelism;
+
+    public ProductImportService(OpenAiServiceWrapper openAiServiceWrapper,
+                                ColumnMappingService columnMappingService,
+                                ImportResultCache resultCache,
+                                ProductServiceImpl productService,
+                                ObjectMapper objectMapper,
+                                @Value("${products.import.batch-size:200}") int batchSize,
+                                @Value("${products.import.parallelism:4}") int parallelism) {
+        this.openAiServiceWrapper = openAiServiceWrapper;
+        this.columnMappingService = columnMappingService;
+        this.resultCache = resultCache;
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.batchExecutor = Executors.newFixedThreadPool(this.parallelism);
+    }
+
+    public ProductValidationResponse importProducts(TableRowCursor cursor, Provider provider) {
+        return importProducts(cursor, provider, ImportProgressListener.NONE);
+    }
+
+    public ProductValidationResponse importProducts(TableRowCursor cursor, Provider provider,
+                                                    ImportProgressListener listener) {
+        ProductValidationResponse result = analyze(cursor.headers(), () -> cursor, listener);
+        productService.saveValidProducts(result.getValid(), provider);
+        return result;
+    }
+
+    public ProductValidationResponse analyze(List<String> headers, Iterable<TableRow> rows,
+                                             ImportProgressListener listener) {
+        BatchQueue queue = new BatchQueue(headers, listener);
+        ProductValidationResponse local = emptyResponse();
+
+        Iterator<TableRow> iterator = rows.iterator();
+        List<TableRow> sample = new ArrayList<>(MAPPING_SAMPLE_SIZE);
+        while (iterator.hasNext() && sample.size() < MAPPING_SAMPLE_SIZE) {
+            sample.add(iterator.next());
+        }
+        ColumnMappingService.ColumnMapping mapping = columnMappingService.inferMapping(headers, sample).orElse(null);
+
+        int rowsParsed = 0;
+        List<TableRow> pending = new ArrayList<>(batchSize);
+        Iterator<TableRow> sampleIterator = sample.iterator();
+        while ((sampleIterator.hasNext() || iterator.hasNext()) && !queue.aborted()) {
+            TableRow row = sampleIterator.hasNext() ? sampleIterator.next() : iterator.next();
+            rowsParsed++;
+
+            if (mapping != null) {
+                ColumnMappingService.RowResolution resolution = columnMappingService.resolve(mapping, row);
+                if (resolution.valid() != null) {
+                    local.getValid().add(resolution.valid());
+                    continue;
+                }
+                if (resolution.invalid() != null) {
+                    local.getInvalid().add(resolution.invalid());
+                    continue;
+                }
+            }
+
+            pending.add(row);
+            if (pending.size() == batchSize) {
+                queueUncached(headers, pending, local, queue, rowsParsed);
+                pending.clear();
+            }
+        }
+        queueUncached(headers, pending, local, queue, rowsParsed);
+        queue.flush(rowsParsed);
+        listener.onRowsResolvedLocally(rowsParsed, local.getValid().size(), local.getInvalid().size());
+
+        return merge(local, queue.batches);
+    }
+
+    private void queueUncached(List<String> headers, List<TableRow> pending, ProductValidationResponse local,
+                               BatchQueue queue, int rowsParsed) {
+        if (pending.isEmpty()) return;
+
+        Map<Integer, ProductValidationResponse> cached = resultCache.lookupAll(headers, pending);
+        for (TableRow row : pending) {
+            ProductValidationResponse hit = cached.get(row.number());
+            if (hit != null) {
+                local.getValid().addAll(hit.getValid());
+                local.getInvalid().addAll(hit.getInvalid());
+            } else {
+                queue.add(row, rowsParsed);
+            }
+        }
+    }
+
+    private final class BatchQueue {
+
+        private final List<String> headers;
+        private final ImportProgressListener listener;
+        private final Semaphore inFlight = new Semaphore(parallelism);
+        private final AtomicReference<OpenAiQuotaExceededException> quotaError = new AtomicReference<>();
+        private final List<CompletableFuture<ProductValidationResponse>> batches = new ArrayList<>();
+        private List<TableRow> batch = new ArrayList<>(batchSize);
+
+        private BatchQueue(List<String> headers, ImportProgressListener listener) {
+            this.headers = headers;
+            this.listener = listener;
+        }
+
+        private boolean aborted() {
+            return quotaError.get() != null;
+        }
+
+        private void add(TableRow row, int rowsParsed) {
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                flush(rowsParsed);
+            }
+        }
+
+        private void flush(int rowsParsed) {
+            if (batch.isEmpty() || aborted()) return;
+            batches.add(submit(headers, batch, inFlight, quotaError, listener, rowsParsed));
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private CompletableFuture<ProductValidationResponse> submit(List<String> headers, List<TableRow> batch,
+                                                                Semaphore inFlight,
+                                                                AtomicReference<OpenAiQuotaExceededException> quotaError,
+                                                                ImportProgressListener listener, int rowsParsed) {
+        inFlight.acquireUninterruptibly();
+        try {
+            listener.onBatchSent(rowsParsed);
+            return CompletableFuture
+                    .supplyAsync(() -> {
+                        OpenAiQuotaExceededException aborted = quotaError.get();
+                        if (aborted != null) {
+                            throw aborted;
+                        }
+                        try {
+                            return analyzeBatch(headers, batch);
+                        } catch (OpenAiQuotaExceededException e) {
+                            quotaError.compareAndSet(null, e);
+                            throw e;
+                        }
+                    }, batchExecutor)
+                    .whenComplete((result, error) -> {
+                        inFlight.release();
+                        if (result != null) {
+                            listener.onBatchCompleted(result.getValid().size(), result.getInvalid().size());
+                        }
+                    });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private ProductValidationResponse analyzeBatch(List<String> headers, List<TableRow> batch) {
+        StringBuilder content = new StringBuilder(PROMPT);
+        content.append(String.join(", ", headers)).append("\n");
+        for (TableRow row : batch) {
+            content.append("fila ").append(row.number()).append(": ")
+                    .append(String.join(", ", row.values())).append("\n");
+        }
+
+        try {
+            String rawJson = openAiServiceWrapper.analizerProducts(content.toString());
+            ProductValidationResponse response = objectMapper.readValue(extractJson(rawJson), ProductValidationResponse.class);
+            if (response.getValid() == null) response.setValid(new ArrayList<>());
+            if (response.getInvalid() == null) response.setInvalid(new ArrayList<>());
+            resultCache.store(headers, batch, response);
+            return response;
+        } catch (OpenAiQuotaExceededException e) {
+            throw e;
+        } catch (JsonProcessingException | RuntimeException e) {
+            return failedBatch(batch, "fila: no se pudo analizar el lote de filas, inténtalo de nuevo.");
+        }
+    }
+
+    private ProductValidationResponse failedBatch(List<TableRow> batch, String message) {
+        List<ProductValidationResponse.InvalidProduct> invalid = new ArrayList<>();
+        for (TableRow row : batch) {
+            ProductValidationResponse.InvalidProduct product = new ProductValidationResponse.InvalidProduct();
+            product.setRow(row.number());
+            product.setErrors(List.of(message));
+            invalid.add(product);
+        }
+        ProductValidationResponse response = emptyResponse();
+        response.setInvalid(invalid);
+        return response;
+    }
+
+    private ProductValidationResponse merge(ProductValidationResponse local,
+                                            List<CompletableFuture<ProductValidationResponse>> batches) {
+        List<ProductValidationResponse.ValidProduct> valid = new ArrayList<>(local.getValid());
+        List<ProductValidationResponse.InvalidProduct> invalid = new ArrayList<>(local.getInvalid());
+
+        for (CompletableFuture<ProductValidationResponse> batch : batches) {
+            ProductValidationResponse response;
+            try {
+                response = batch.join();
+            } catch (CompletionException e) {
+                batches.forEach(pending -> pending.cancel(false));
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+            valid.addAll(response.getValid());
+            invalid.addAll(response.getInvalid());
+        }
+
+        valid.sort(Comparator.comparing(ProductValidationResponse.ValidProduct::getRow,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        invalid.sort(Comparator.comparingInt(ProductValidationResponse.InvalidProduct::getRow));
+
+        ProductValidationResponse merged = new ProductValidationResponse();
+        merged.setValid(valid);
+        merged.setInvalid(invalid);
+        return merged;
+    }
+
+    private ProductValidationResponse emptyResponse() {
+        ProductValidationResponse response = new ProductValidationResponse();
+        response.setValid(new ArrayList<>());
+        response.setInvalid(new ArrayList<>());
+        return response;
+    }
+
+    private String extractJson(String response) {
+        if (response == null) return "";
+
+        String trimmed = response.trim();
+
+        if (trimmed.startsWith("```")) {
+            int start = trimmed.indexOf("{");
+            int end = trimmed.lastIndexOf("}");
+            if (start >= 0 && end > start) {
+                return trimmed.substring(start, end + 1).trim();
+            }
+        }
+
+        if (trimmed.startsWith("{") && trimmed.endsWith("}")) {
+            return trimmed;
+        }
+
+        int start = trimmed.indexOf("{");
+        int end = trimmed.lastIndexOf("}");
+        if (start >= 0 && end > start) {
+            return trimmed.substring(start, end + 1).trim();
+        }
+
+        return trimmed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdown();
+    }
+}
@@ -1,33 +1,59 @@
 package fooTalent.flowik.products.services;
 
+import fooTalent.flowik.config.SecurityUtil;
 import fooTalent.flowik.exceptions.BadRequestException;
 import fooTalent.flowik.exceptions.ResourceNotFoundException;
+import fooTalent.flowik.products.dto.PriceAdjustPreview;
+import fooTalent.flowik.products.dto.PriceAdjustResult;
 import fooTalent.flowik.products.dto.ProducEditPrice;
+import fooTalent.flowik.products.dto.ProductCursor;
+import fooTalent.flowik.products.dto.ProductFilter;
+import fooTalent.flowik.products.dto.ProductList;
+import fooTalent.flowik.products.dto.ProductPage;
+import fooTalent.flowik.products.dto.ProductPriceSelection;
+import fooTalent.flowik.products.dto.ProductProviderName;
 import fooTalent.flowik.products.dto.ProductRegister;
 import fooTalent.flowik.products.dto.ProductUpdated;
 import fooTalent.flowik.products.dto.ProductValidationResponse;
 import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.entities.StockLedgerEntry;
 import fooTalent.flowik.products.enums.AdjustType;
 import fooTalent.flowik.products.enums.AdjustValue;
+import fooTalent.flowik.products.enums.ProductSortField;
+import fooTalent.flowik.products.enums.StockMovementReason;
+import fooTalent.flowik.products.repositories.PriceDistribution;
 import fooTalent.flowik.products.repositories.ProductRepository;
+import fooTalent.flowik.products.repositories.ProductSpecifications;
 import fooTalent.flowik.providers.entities.Provider;
 import fooTalent.flowik.providers.repositories.ProviderRepository;
 import fooTalent.flowik.providers.services.ProviderService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @AllArgsConstructor
 public class ProductService implements ProductServiceImpl{
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int PRICE_UPDATE_CHUNK = 1000;
+
     private final ProductRepository productRepository;
     private final ProviderService providerService;
     private final ProviderRepository providerRepository;
+    private final StockLedgerService stockLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -41,8 +67,11 @@ public class ProductService implements ProductServiceImpl{
         });
 
         List<Provider> providers = this.providerService.getProvidersByIds(idProviders);
-        Product product = new Product(productRegister, providers);
-        return productRepository.save(product);
+        Product product = productRepository.save(new Product(productRegister, providers));
+        stockLedgerService.record(List.of(new StockLedgerEntry(product, product.getAmount(),
+                StockMovementReason.ALTA, product.getCreatedBy())));
+        eventPublisher.publishEvent(StockChangedEvent.of(product.getId(), null));
+        return product;
     }
 
     @Override
@@ -50,6 +79,90 @@ public class ProductService implements ProductServiceImpl{
         return productRepository.findAll();
     }
 
+    @Override
+    public List<Product> getAllProductsByUser(String email) {
+        return productRepository.findByCreatedBy(email);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductList> getProductListByUser(String email) {
+        List<Product> products = productRepository.findByCreatedBy(email);
+        return buildProductLists(products, productRepository.findProviderNamesByCreatedBy(email));
+    }
+
+    @Override
+    public List<ProductList> toProductLists(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = products.stream().map(Product::getId).toList();
+        return buildProductLists(products, productRepository.findProviderNamesByProductIds(ids));
+    }
+
+    private List<ProductList> buildProductLists(List<Product> products, List<ProductProviderName> providerNames) {
+        Map<Long, List<String>> namesByProduct = new HashMap<>();
+        for (ProductProviderName row : providerNames) {
+            namesByProduct.computeIfAbsent(row.productId(), id -> new ArrayList<>()).add(row.providerName());
+        }
+        return products.stream()
+                .map(p -> new ProductList(p, namesByProduct.getOrDefault(p.getId(), List.of())))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductPage getProductsPage(String email, ProductFilter filter, ProductSortField sortBy,
+                                       Sort.Direction direction, String cursor, int size, boolean includeTotal) {
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE + ".");
+        }
+
+        Specification<Product> base = ProductSpecifications.ownedBy(email)
+                .and(ProductSpecifications.matching(filter));
+
+        Specification<Product> spec = base;
+        if (cursor != null && !cursor.isBlank()) {
+            ProductCursor position = ProductCursor.decode(cursor);
+            if (position.sortBy() != sortBy) {
+                throw new BadRequestException("El cursor no corresponde al orden solicitado.");
+            }
+            spec = spec.and(keysetAfter(position, direction));
+        }
+
+        Sort sort = Sort.by(direction, sortBy.getAttribute()).and(Sort.by(direction, "id"));
+        List<Product> rows = productRepository.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<Product> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? ProductCursor.of(sortBy, pageRows.get(pageRows.size() - 1)).encode()
+                : null;
+        Long total = includeTotal ? productRepository.count(base) : null;
+
+        return new ProductPage(
+                toProductLists(pageRows),
+                pageRows.size(),
+                hasNext,
+                nextCursor,
+                total
+        );
+    }
+
+    private Specification<Product> keysetAfter(ProductCursor position, Sort.Direction direction) {
+        try {
+            return switch (position.sortBy()) {
+                case NAME -> ProductSpecifications.after("name", position.value(), position.id(), direction);
+                case PRICE -> ProductSpecifications.after("sellPrice", new BigDecimal(position.value()), position.id(), direction);
+                case AMOUNT -> ProductSpecifications.after("amount", Integer.valueOf(position.value()), position.id(), direction);
+                case BUY_DATE -> ProductSpecifications.after("buyDate", LocalDate.parse(position.value()), position.id(), direction);
+            };
+        } catch (RuntimeException e) {
+            throw new BadRequestException("El cursor de paginación no es válido.");
+        }
+    }
+
     @Override
     public Product getProductById(Long id) {
         return productRepository.findById(id)
@@ -118,9 +231,16 @@ public class ProductService implements ProductServiceImpl{
                     ("No se modificó ningún campo del producto.");
         }
 
+        Integer previousAmount = product.getAmount();
         product.updateProduct(productUpdated, providers);
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        if (!saved.getAmount().equals(previousAmount)) {
+            stockLedgerService.record(List.of(new StockLedgerEntry(saved, saved.getAmount() - previousAmount,
+                    StockMovementReason.EDICION, SecurityUtil.getAuthenticatedEmail())));
+            eventPublisher.publishEvent(StockChangedEvent.of(saved.getId(), previousAmount));
+        }
+        return saved;
     }
 
     @Override
@@ -189,6 +309,90 @@ public class ProductService implements ProductServiceImpl{
         this.productRepository.saveAll(products);
         return products;
     }
+
+    @Override
+    @Transactional
+    public PriceAdjustResult bulkAdjustPrice(ProducEditPrice producEditPrice, String email) {
+        validatePriceAdjust(producEditPrice.value(), producEditPrice.adjustType(), producEditPrice.adjustValue());
+
+        List<Long> ids = producEditPrice.IDs();
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("Debe indicar al menos un producto.");
+        }
+
+        BigDecimal factor = priceFactor(producEditPrice.value(), producEditPrice.adjustType(), producEditPrice.adjustValue());
+        BigDecimal delta = priceDelta(producEditPrice.value(), producEditPrice.adjustType(), producEditPrice.adjustValue());
+
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        int updated = 0;
+        for (int from = 0; from < distinctIds.size(); from += PRICE_UPDATE_CHUNK) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(distinctIds.size(), from + PRICE_UPDATE_CHUNK));
+            updated += productRepository.adjustSellPrice(email, chunk, factor, delta);
+        }
+        return new PriceAdjustResult(distinctIds.size(), updated);
+    }
+
+    @Override
+    @Transactional
+    public PriceAdjustPreview adjustPriceBySelection(ProductPriceSelection selection, String email, boolean dryRun) {
+        validatePriceAdjust(selection.value(), selection.adjustType(), selection.adjustValue());
+
+        String category = selection.category() != null && !selection.category().isBlank()
+                ? selection.category().trim()
+                : null;
+        if (category == null && selection.providerId() == null && selection.stockLevel() == null) {
+            throw new BadRequestException("Debe indicar una categoría, un proveedor o un nivel de stock.");
+        }
+        String stockLevel = selection.stockLevel() != null ? selection.stockLevel().name() : null;
+
+        BigDecimal factor = priceFactor(selection.value(), selection.adjustType(), selection.adjustValue());
+        BigDecimal delta = priceDelta(selection.value(), selection.adjustType(), selection.adjustValue());
+
+        PriceDistribution distribution = productRepository.previewSellPriceBySelection(
+                email, category, selection.active(), selection.providerId(), stockLevel, factor, delta);
+
+        long affected = distribution.getAffected() != null ? distribution.getAffected() : 0;
+        if (!dryRun && affected > 0) {
+            affected = productRepository.adjustSellPriceBySelection(
+                    email, category, selection.active(), selection.providerId(), stockLevel, factor, delta);
+        }
+
+        return new PriceAdjustPreview(affected, !dryRun,
+                distribution.getCurrentMin(), distribution.getCurrentMax(), scaled(distribution.getCurrentAverage()),
+                distribution.getNewMin(), distribution.getNewMax(), scaled(distribution.getNewAverage()));
+    }
+
+    private void validatePriceAdjust(BigDecimal value, AdjustType adjustType, AdjustValue adjustValue) {
+        if (value == null || value.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new BadRequestException("El valor debe ser mayor que 0.");
+        }
+        if (adjustType == null || adjustValue == null) {
+            throw new BadRequestException("Debe indicar el tipo de ajuste y si es porcentual o monetario.");
+        }
+    }
+
+    private BigDecimal priceFactor(BigDecimal value, AdjustType adjustType, AdjustValue adjustValue) {
+        if (!adjustValue.equals(AdjustValue.Percent)) {
+            return BigDecimal.ONE;
+        }
+        BigDecimal percentValue = value.divide(new BigDecimal(100), 2, RoundingMode.HALF_UP);
+        return adjustType.equals(AdjustType.Aumentar)
+                ? BigDecimal.ONE.add(percentValue)
+                : BigDecimal.ONE.subtract(percentValue);
+    }
+
+    private BigDecimal priceDelta(BigDecimal value, AdjustType adjustType, AdjustValue adjustValue) {
+        if (adjustValue.equals(AdjustValue.Percent)) {
+            return BigDecimal.ZERO;
+        }
+        return adjustType.equals(AdjustType.Aumentar) ? value : value.negate();
+    }
+
+    private BigDecimal scaled(BigDecimal value) {
+        return value != null ? value.setScale(2, RoundingMode.HALF_UP) : null;
+    }
+
+    @Transactional
     public void saveValidProducts(List<ProductValidationResponse.ValidProduct> validProducts, Provider provider) {
         List<Product> entities = validProducts.stream().map(v -> {
             Product p = new Product();
@@ -198,9 +402,17 @@ public class ProductService implements ProductServiceImpl{
             p.setAmount(v.getAmount());
             p.setSellPrice(v.getSellPrice());
             p.setProviders(List.of(provider));
+            p.setCreatedBy(provider.getCreatedBy());
             return p;
         }).toList();
 
         productRepository.saveAll(entities);
+        stockLedgerService.record(entities.stream()
+                .map(product -> new StockLedgerEntry(product, product.getAmount(),
+                        StockMovementReason.IMPORTACION, provider.getCreatedBy()))
+                .toList());
+        eventPublisher.publishEvent(new StockChangedEvent(entities.stream()
+                .map(product -> new StockChangedEvent.Change(product.getId(), null))
+                .toList()));
     }
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package fooTalent.flowik.products.services;
 
 import fooTalent.flowik.products.dto.*;
 import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.enums.ProductSortField;
 import fooTalent.flowik.providers.entities.Provider;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -13,6 +15,15 @@ public interface ProductServiceImpl {
 
     List<Product> getAllProducts();
 
+    List<Product> getAllProductsByUser(String email);
+
+    List<ProductList> getProductListByUser(String email);
+
+    List<ProductList> toProductLists(List<Product> products);
+
+    ProductPage getProductsPage(String email, ProductFilter filter, ProductSortField sortBy,
+                                Sort.Direction direction, String cursor, int size, boolean includeTotal);
+
     Product getProductById(Long id);
 
     boolean existProduct(Long id);
@@ -27,5 +38,9 @@ public interface ProductServiceImpl {
 
     List<Product> editPrice(@Valid ProducEditPrice producEditPrice);
 
+    PriceAdjustResult bulkAdjustPrice(ProducEditPrice producEditPrice, String email);
+
+    PriceAdjustPreview adjustPriceBySelection(ProductPriceSelection selection, String email, boolean dryRun);
+
     void saveValidProducts(List<ProductValidationResponse.ValidProduct> validProducts, Provider provider);
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package fooTalent.flowik.products.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+public class StockAlertQueue {
+
+    private static final int BATCH_SIZE = 500;
+    static final int MAX_ATTEMPTS = 3;
+
+    private final StockService stockService;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicLong discarded = new AtomicLong();
+
+    private record Pending(Integer previousAmount, int attempts) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        for (StockChangedEvent.Change change : event.changes()) {
+            pending.putIfAbsent(change.productId(), new Pending(change.previousAmount(), 0));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stock.alerts.flush-interval-ms:5000}")
+    public void flush() {
+        Map<Long, Pending> retries = new HashMap<>();
+        while (!pending.isEmpty()) {
+            Map<Long, Pending> batch = new HashMap<>();
+            Iterator<Long> ids = pending.keySet().iterator();
+            while (ids.hasNext() && batch.size() < BATCH_SIZE) {
+                Long id = ids.next();
+                Pending change = pending.remove(id);
+                if (change != null) {
+                    batch.put(id, change);
+                }
+            }
+
+            try {
+                stockService.evaluateStockChanges(previousAmounts(batch));
+            } catch (RuntimeException e) {
+                batch.forEach((id, change) -> evaluateAlone(id, change, retries));
+            }
+        }
+        retries.forEach((id, retry) -> pending.merge(id, retry, (newer, older) -> older));
+    }
+
+    public long discarded() {
+        return discarded.get();
+    }
+
+    private void evaluateAlone(Long id, Pending change, Map<Long, Pending> retries) {
+        Map<Long, Integer> single = new HashMap<>();
+        single.put(id, change.previousAmount());
+        try {
+            stockService.evaluateStockChanges(single);
+        } catch (RuntimeException e) {
+            if (change.attempts() + 1 >= MAX_ATTEMPTS) {
+                discarded.incrementAndGet();
+            } else {
+                retries.putIfAbsent(id, new Pending(change.previousAmount(), change.attempts() + 1));
+            }
+        }
+    }
+
+    private Map<Long, Integer> previousAmounts(Map<Long, Pending> batch) {
+        Map<Long, Integer> amounts = new HashMap<>();
+        batch.forEach((id, change) -> amounts.put(id, change.previousAmount()));
+        return amounts;
+    }
+}
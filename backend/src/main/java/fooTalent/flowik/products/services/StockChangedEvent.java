@@ -0,0 +1,13 @@
+package fooTalent.flowik.products.services;
+
+import java.util.List;
+
+public record StockChangedEvent(List<Change> changes) {
+
+    public record Change(Long productId, Integer previousAmount) {
+    }
+
+    public static StockChangedEvent of(Long productId, Integer previousAmount) {
+        return new StockChangedEvent(List.of(new Change(productId, previousAmount)));
+    }
+}
@@ -0,0 +1,107 @@
+package fooTalent.flowik.products.services;
+
+import fooTalent.flowik.exceptions.BadRequestException;
+import fooTalent.flowik.exceptions.ResourceNotFoundException;
+import fooTalent.flowik.products.dto.StockAtDate;
+import fooTalent.flowik.products.dto.StockLedgerPage;
+import fooTalent.flowik.products.dto.StockLedgerResponse;
+import fooTalent.flowik.products.dto.StockMovementSummary;
+import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.entities.StockLedgerEntry;
+import fooTalent.flowik.products.entities.StockSnapshot;
+import fooTalent.flowik.products.repositories.ProductRepository;
+import fooTalent.flowik.products.repositories.StockLedgerRepository;
+import fooTalent.flowik.products.repositories.StockSnapshotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class StockLedgerService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final LocalDate EARLIEST = LocalDate.of(2000, 1, 1);
+
+    private final StockLedgerRepository ledgerRepository;
+    private final StockSnapshotRepository snapshotRepository;
+    private final ProductRepository productRepository;
+    private final int snapshotRetentionDays;
+
+    public StockLedgerService(StockLedgerRepository ledgerRepository,
+                              StockSnapshotRepository snapshotRepository,
+                              ProductRepository productRepository,
+                              @Value("${stock.snapshots.retention-days:400}") int snapshotRetentionDays) {
+        this.ledgerRepository = ledgerRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.productRepository = productRepository;
+        this.snapshotRetentionDays = snapshotRetentionDays;
+    }
+
+    public void record(List<StockLedgerEntry> entries) {
+        if (!entries.isEmpty()) {
+            ledgerRepository.saveAll(entries);
+        }
+    }
+
+    public StockLedgerPage getMovements(Long productId, String email, LocalDate from, LocalDate to,
+                                        Long cursor, int size) {
+        ownedProduct(productId, email);
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        LocalDateTime start = (from != null ? from : EARLIEST).atStartOfDay();
+        LocalDateTime end = (to != null ? to : LocalDate.now()).plusDays(1).atStartOfDay();
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("La fecha inicial debe ser anterior a la fecha final.");
+        }
+
+        List<StockLedgerEntry> entries = ledgerRepository.findHistory(productId, start, end,
+                cursor != null ? cursor : Long.MAX_VALUE, Limit.of(pageSize + 1));
+
+        boolean hasNext = entries.size() > pageSize;
+        List<StockLedgerResponse> content = entries.stream()
+                .limit(pageSize)
+                .map(StockLedgerResponse::new)
+                .toList();
+        Long nextCursor = hasNext ? content.get(content.size() - 1).id() : null;
+        return new StockLedgerPage(content, content.size(), hasNext, nextCursor);
+    }
+
+    public StockAtDate getStockAt(Long productId, String email, LocalDate date) {
+        Product product = ownedProduct(productId, email);
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+
+        Optional<StockSnapshot> snapshot =
+                snapshotRepository.findFirstByProductIdAndTakenAtLessThanOrderByTakenAtDesc(productId, endOfDay);
+
+        long amount = snapshot
+                .map(s -> s.getAmount() + ledgerRepository.sumDeltaBetween(productId, s.getTakenAt(), endOfDay))
+                .orElseGet(() -> product.getAmount() - ledgerRepository.sumDeltaSince(productId, endOfDay));
+
+        return new StockAtDate(productId, date, (int) amount);
+    }
+
+    public List<StockMovementSummary> getSummary(String email, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new BadRequestException("Debe indicar un rango de fechas válido.");
+        }
+        return ledgerRepository.summarize(email, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void takeSnapshots() {
+        snapshotRepository.snapshotChanged(LocalDateTime.now());
+        snapshotRepository.deleteByTakenAtBefore(LocalDateTime.now().minusDays(snapshotRetentionDays));
+    }
+
+    private Product ownedProduct(Long productId, String email) {
+        return productRepository.findById(productId)
+                .filter(product -> product.getCreatedBy().equals(email))
+                .orElseThrow(() -> new ResourceNotFoundException("Producto", "ID", productId));
+    }
+}
@@ -2,101 +2,203 @@ package fooTalent.flowik.products.services;
 
 import fooTalent.flowik.config.SecurityUtil;
 import fooTalent.flowik.exceptions.ResourceNotFoundException;
+import fooTalent.flowik.notifications.dto.NotificationKey;
+import fooTalent.flowik.notifications.entities.Notification;
 import fooTalent.flowik.notifications.repositories.NotificationRepository;
 import fooTalent.flowik.notifications.services.NotificationService;
+import fooTalent.flowik.products.dto.StockAlertCandidate;
+import fooTalent.flowik.products.dto.StockMovement;
+import fooTalent.flowik.products.dto.StockMovementResult;
 import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.entities.StockLedgerEntry;
+import fooTalent.flowik.products.enums.StockLevel;
+import fooTalent.flowik.products.enums.StockMovementReason;
 import fooTalent.flowik.products.repositories.ProductRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class StockService {
 
+    private static final int ALERT_SCAN_CHUNK = 500;
+    private static final String LOW_STOCK_TITLE = "Alerta de stock bajo";
+    private static final String CRITICAL_STOCK_TITLE = "Alerta de stock crítico";
+
     private final ProductRepository productRepository;
     private final NotificationService notificationService;
     private final NotificationRepository notificationRepository;
+    private final StockLedgerService stockLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Product adjustStock(Long productId, int quantityChange) {
+        if (productRepository.addToAmount(productId, quantityChange) == 0) {
+            throw new ResourceNotFoundException("Producto", "ID", productId);
+        }
+
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Producto", "ID", productId));
 
-        Integer oldAmount = product.getAmount();
-        Integer newAmount = oldAmount + quantityChange;
+        Integer oldAmount = product.getAmount() - quantityChange;
 
-        product.setAmount(newAmount);
+        stockLedgerService.record(List.of(
+                new StockLedgerEntry(product, quantityChange, StockMovementReason.AJUSTE, currentActor())));
 
-        checkAndNotifyStockStatus(product, oldAmount, newAmount);
+        eventPublisher.publishEvent(StockChangedEvent.of(productId, oldAmount));
 
-        return productRepository.save(product);
+        return product;
     }
 
-    private void checkAndNotifyStockStatus(Product product, Integer oldAmount, Integer newAmount) {
-        Integer lowThreshold = product.getLowStockThreshold();
-        Integer criticalThreshold = product.getCriticalStockThreshold();
+    @Transactional
+    public List<StockMovementResult> adjustStockBatch(List<StockMovement> movements, String email) {
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (StockMovement movement : movements) {
+            deltas.merge(movement.productId(), movement.quantity(), Integer::sum);
+        }
 
-        String notificationTitle = null;
-        String notificationDescription = null;
+        List<Product> products = productRepository.findAllByIdForUpdate(deltas.keySet(), email);
+        if (products.size() != deltas.size()) {
+            Set<Long> found = products.stream().map(Product::getId).collect(Collectors.toSet());
+            Long missing = deltas.keySet().stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new ResourceNotFoundException("Producto", "ID", missing);
+        }
 
-        if (oldAmount > lowThreshold && newAmount <= lowThreshold) {
-            notificationTitle = "Alerta de stock bajo";
-            notificationDescription = "El stock del producto '" + product.getName() + "' ha alcanzado un nivel BAJO.";
-        } else if (oldAmount > criticalThreshold && newAmount <= criticalThreshold) {
-            notificationTitle = "Alerta de stock crítico";
-            notificationDescription = "¡Alerta! El stock de '" + product.getName() + "' ha alcanzado un nivel CRÍTICO.";
+        List<StockMovementResult> results = new ArrayList<>(products.size());
+        List<StockLedgerEntry> entries = new ArrayList<>(products.size());
+        List<StockChangedEvent.Change> changes = new ArrayList<>(products.size());
+        for (Product product : products) {
+            Integer delta = deltas.get(product.getId());
+            Integer oldAmount = product.getAmount();
+            Integer newAmount = oldAmount + delta;
+            product.setAmount(newAmount);
+            entries.add(new StockLedgerEntry(product, delta, StockMovementReason.AJUSTE_LOTE, email));
+            changes.add(new StockChangedEvent.Change(product.getId(), oldAmount));
+            results.add(new StockMovementResult(product.getId(), product.getName(), oldAmount, newAmount));
         }
 
-        if (notificationTitle != null) {
-            String createdBy = null;
-            try {
-                createdBy = SecurityUtil.getAuthenticatedEmail();
-            } catch (RuntimeException e) {
-            }
-            notificationService.createStockNotification(notificationTitle, notificationDescription, product.getId(), createdBy);
+        stockLedgerService.record(entries);
+        eventPublisher.publishEvent(new StockChangedEvent(changes));
+        return results;
+    }
+
+    private String currentActor() {
+        try {
+            return SecurityUtil.getAuthenticatedEmail();
+        } catch (RuntimeException e) {
+            return "system";
         }
     }
-    @Transactional
-    public void checkAllProductsStockLevels() {
-        List<Product> products = productRepository.findAll();
 
-        for (Product product : products) {
-            Integer currentAmount = product.getAmount();
-            Integer lowThreshold = product.getLowStockThreshold();
-            Integer criticalThreshold = product.getCriticalStockThreshold();
-
-            String notificationTitle = null;
-            String notificationDescription = null;
-
-            if (currentAmount <= criticalThreshold) {
-                notificationTitle = "Alerta de stock crítico";
-                notificationDescription = "¡Alerta! El stock de '" + product.getName() + "' ha alcanzado un nivel CRÍTICO.";
-            } else if (currentAmount <= lowThreshold) {
-                notificationTitle = "Alerta de stock bajo";
-                notificationDescription = "El stock del producto '" + product.getName() + "' ha alcanzado un nivel BAJO.";
+    @Transactional
+    public void evaluateStockChanges(Map<Long, Integer> previousAmounts) {
+        List<StockAlertCandidate> candidates = productRepository.findStockAlertCandidatesByIds(previousAmounts.keySet());
+        if (candidates.isEmpty()) return;
+
+        Set<NotificationKey> existing = notificationService.findStockNotificationKeys(candidates.stream()
+                .map(StockAlertCandidate::id)
+                .filter(id -> previousAmounts.get(id) == null)
+                .toList());
+
+        List<Notification> notifications = new ArrayList<>();
+        for (StockAlertCandidate product : candidates) {
+            Integer previousAmount = previousAmounts.get(product.id());
+            Notification notification = previousAmount != null
+                    ? crossingAlert(product, previousAmount)
+                    : levelAlert(product, existing);
+            if (notification != null) {
+                notifications.add(notification);
             }
+        }
+        notificationService.saveAll(notifications);
+    }
 
-            if (notificationTitle != null) {
-                String productCreatorEmail = product.getCreatedBy();
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeStockLevels() {
+        productRepository.initializeStockLevels();
+    }
 
-                boolean alreadyNotified = notificationService.hasActiveStockNotification(product.getId(), productCreatorEmail, notificationTitle);
+    public void checkAllProductsStockLevels() {
+        checkStockLevel(StockLevel.CRITICO);
+        checkStockLevel(StockLevel.BAJO);
+    }
 
-                if (!alreadyNotified) {
-                    notificationService.createStockNotification(notificationTitle, notificationDescription, product.getId(), productCreatorEmail);
+    private void checkStockLevel(StockLevel level) {
+        Long afterId = 0L;
+        List<StockAlertCandidate> chunk;
+        do {
+            chunk = productRepository.findStockAlertCandidates(level, afterId, Limit.of(ALERT_SCAN_CHUNK));
+            if (chunk.isEmpty()) break;
+
+            Set<NotificationKey> existing = notificationService.findStockNotificationKeys(
+                    chunk.stream().map(StockAlertCandidate::id).toList());
+
+            List<Notification> notifications = new ArrayList<>();
+            for (StockAlertCandidate product : chunk) {
+                Notification notification = levelAlert(product, existing);
+                if (notification != null) {
+                    notifications.add(notification);
                 }
             }
+            notificationService.saveAll(notifications);
+
+            afterId = chunk.get(chunk.size() - 1).id();
+        } while (chunk.size() == ALERT_SCAN_CHUNK);
+    }
+
+    private Notification crossingAlert(StockAlertCandidate product, int oldAmount) {
+        Integer lowThreshold = product.lowStockThreshold();
+        Integer criticalThreshold = product.criticalStockThreshold();
+        int newAmount = product.amount();
+
+        if (lowThreshold != null && oldAmount > lowThreshold && newAmount <= lowThreshold) {
+            return stockAlert(product, false);
+        } else if (criticalThreshold != null && oldAmount > criticalThreshold && newAmount <= criticalThreshold) {
+            return stockAlert(product, true);
+        }
+        return null;
+    }
+
+    private Notification levelAlert(StockAlertCandidate product, Set<NotificationKey> existing) {
+        boolean critical = product.criticalStockThreshold() != null
+                && product.amount() <= product.criticalStockThreshold();
+        String title = critical ? CRITICAL_STOCK_TITLE : LOW_STOCK_TITLE;
+
+        if (existing.contains(new NotificationKey(product.id(), product.createdBy(), title))) {
+            return null;
+        }
+        return stockAlert(product, critical);
+    }
+
+    private Notification stockAlert(StockAlertCandidate product, boolean critical) {
+        if (critical) {
+            return notificationService.buildStockNotification(CRITICAL_STOCK_TITLE,
+                    "¡Alerta! El stock de '" + product.name() + "' ha alcanzado un nivel CRÍTICO.",
+                    product.id(), product.createdBy());
         }
+        return notificationService.buildStockNotification(LOW_STOCK_TITLE,
+                "El stock del producto '" + product.name() + "' ha alcanzado un nivel BAJO.",
+                product.id(), product.createdBy());
     }
 
     public boolean hasActiveStockNotification(Long productId, String userEmail, String type) {
 
         return notificationRepository.existsByReferenceIdAndCreatedByAndTitle(productId, userEmail, type);
     }
-    @Scheduled(fixedRate = 8 * 60 * 60 * 1000)
+    @Scheduled(cron = "0 0 4 * * ?")
     public void scheduleStockCheck() {
         this.checkAllProductsStockLevels();
     }
@@ -0,0 +1,12 @@
+package fooTalent.flowik.products.services;
+
+import fooTalent.flowik.products.dto.TableRow;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
+
+public interface TableRowCursor extends Iterator<TableRow>, Closeable {
+
+    List<String> headers();
+}
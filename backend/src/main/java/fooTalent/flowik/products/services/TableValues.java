@@ -0,0 +1,77 @@
+package fooTalent.flowik.products.services;
+
+import fooTalent.flowik.products.dto.TableRow;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public final class TableValues {
+
+    private static final Pattern CURRENCY = Pattern.compile("(?i)(us\\$|u\\$s|ar\\$|ars|usd|eur|\\$|€|\\s)");
+    private static final Pattern NUMBER = Pattern.compile("-?[0-9.,]+(e[+-]?[0-9]{1,2})?", Pattern.CASE_INSENSITIVE);
+    private static final int MAX_SCALE = 10;
+
+    private TableValues() {
+    }
+
+    public static BigDecimal parseDecimal(String raw) {
+        if (raw == null) return null;
+        String value = CURRENCY.matcher(raw).replaceAll("");
+        if (value.isEmpty() || !NUMBER.matcher(value).matches()) return null;
+
+        int exponent = value.toLowerCase(Locale.ROOT).indexOf('e');
+        String mantissa = exponent >= 0 ? value.substring(0, exponent) : value;
+        String plain = plainMantissa(mantissa);
+        if (plain == null) return null;
+
+        try {
+            BigDecimal parsed = new BigDecimal(exponent >= 0 ? plain + value.substring(exponent) : plain);
+            return Math.abs(parsed.scale()) > MAX_SCALE ? null : parsed;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static int column(List<String> headers, Set<String> names) {
+        for (int i = 0; i < headers.size(); i++) {
+            String header = headers.get(i) == null ? "" : headers.get(i);
+            if (names.contains(header.toLowerCase(Locale.ROOT).replaceAll("[^a-z]", ""))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static String cell(TableRow row, int column) {
+        return column < row.values().size() && row.values().get(column) != null
+                ? row.values().get(column).trim()
+                : "";
+    }
+
+    private static String plainMantissa(String mantissa) {
+        int lastDot = mantissa.lastIndexOf('.');
+        int lastComma = mantissa.lastIndexOf(',');
+
+        if (lastDot >= 0 && lastComma >= 0) {
+            char decimal = lastDot > lastComma ? '.' : ',';
+            char grouping = decimal == '.' ? ',' : '.';
+            if (mantissa.indexOf(decimal) != mantissa.lastIndexOf(decimal)) return null;
+            return mantissa.replace(String.valueOf(grouping), "").replace(decimal, '.');
+        }
+        if (lastDot < 0 && lastComma < 0) {
+            return mantissa;
+        }
+
+        char separator = lastDot >= 0 ? '.' : ',';
+        int last = Math.max(lastDot, lastComma);
+        if (mantissa.indexOf(separator) != last) {
+            return mantissa.replace(String.valueOf(separator), "");
+        }
+        String integerPart = mantissa.substring(0, last).replace("-", "");
+        boolean thousandsLike = mantissa.length() - last - 1 == 3 && !integerPart.isEmpty() && !integerPart.equals("0");
+        return thousandsLike ? null : mantissa.replace(separator, '.');
+    }
+}
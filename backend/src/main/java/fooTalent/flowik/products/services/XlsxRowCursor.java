@@ -0,0 +1,159 @@
+package fooTalent.flowik.products.services;
+
+import fooTalent.flowik.exceptions.util.FileParseException;
+import fooTalent.flowik.products.dto.TableRow;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+class XlsxRowCursor extends AbstractRowCursor {
+
+    private final Path tempFile;
+    private final DataFormatter formatter = new DataFormatter();
+    private OPCPackage pkg;
+    private InputStream sheet;
+    private XMLStreamReader xml;
+    private ReadOnlySharedStringsTable strings;
+    private StylesTable styles;
+    private List<String> headers = List.of();
+    private int lastRow;
+
+    XlsxRowCursor(InputStream inputStream) throws IOException {
+        this.tempFile = Files.createTempFile("flowik-xlsx-", ".xlsx");
+        try {
+            Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ);
+            strings = new ReadOnlySharedStringsTable(pkg);
+            XSSFReader reader = new XSSFReader(pkg);
+            styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new FileParseException("El archivo Excel no contiene hojas.");
+            }
+            sheet = sheets.next();
+            xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheet);
+
+            TableRow first = fetch();
+            if (first != null) {
+                headers = first.values();
+            }
+        } catch (OpenXML4JException | SAXException | XMLStreamException e) {
+            close();
+            throw new FileParseException("Error al procesar el Excel", e);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> headers() {
+        return headers;
+    }
+
+    @Override
+    protected TableRow fetch() {
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "row".equals(xml.getLocalName())) {
+                    String reference = xml.getAttributeValue(null, "r");
+                    lastRow = reference != null ? Integer.parseInt(reference) : lastRow + 1;
+                    return new TableRow(lastRow, readCells());
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            throw new FileParseException("Error al procesar el Excel", e);
+        }
+    }
+
+    private List<String> readCells() throws XMLStreamException {
+        List<String> values = new ArrayList<>();
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String reference = xml.getAttributeValue(null, "r");
+                int column = reference != null ? new CellReference(reference).getCol() : values.size();
+                while (values.size() < column) {
+                    values.add("");
+                }
+                values.add(readCell(xml.getAttributeValue(null, "t"), xml.getAttributeValue(null, "s")));
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+        return values;
+    }
+
+    private String readCell(String type, String style) throws XMLStreamException {
+        StringBuilder raw = new StringBuilder();
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT
+                    && ("v".equals(xml.getLocalName()) || "t".equals(xml.getLocalName()))) {
+                raw.append(xml.getElementText());
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+        return format(type, style, raw.toString());
+    }
+
+    private String format(String type, String style, String raw) {
+        if (raw.isEmpty()) return "";
+        try {
+            if ("s".equals(type)) {
+                return strings.getItemAt(Integer.parseInt(raw)).getString();
+            }
+            if ("b".equals(type)) {
+                return "1".equals(raw) ? "TRUE" : "FALSE";
+            }
+            if (type == null || "n".equals(type)) {
+                XSSFCellStyle cellStyle = styleOf(style);
+                if (cellStyle == null) return raw;
+                return formatter.formatRawCellContents(Double.parseDouble(raw),
+                        cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return raw;
+        }
+        return raw;
+    }
+
+    private XSSFCellStyle styleOf(String style) {
+        if (styles == null || styles.getNumCellStyles() == 0) return null;
+        return styles.getStyleAt(style != null ? Integer.parseInt(style) : 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (xml != null) xml.close();
+        } catch (XMLStreamException ignored) {
+        }
+        if (sheet != null) sheet.close();
+        if (pkg != null) pkg.revert();
+        Files.deleteIfExists(tempFile);
+    }
+}
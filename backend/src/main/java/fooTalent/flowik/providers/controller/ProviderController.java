@@ -48,8 +48,7 @@ public class ProviderController {
 
         String email = SecurityUtil.getAuthenticatedEmail();
 
-        List<ProviderList> providerList = providerService.getAllProvider().stream()
-                .filter(provider -> provider.getCreatedBy().equals(email))
+        List<ProviderList> providerList = providerService.getAllProviderByUser(email).stream()
                 .map(ProviderList::new)
                 .toList();
 
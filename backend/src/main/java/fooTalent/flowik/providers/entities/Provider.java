@@ -10,7 +10,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "provider")
+@Table(name = "provider", indexes = {
+        @Index(name = "idx_provider_created_by", columnList = "created_by")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,5 +23,7 @@ public interface ProviderRepository extends JpaRepository<Provider, Long> {
 
     @Query("SELECT p FROM Provider p WHERE p.cuit_provider = :cuit")
     Optional<Provider> findByCuit_provider(@Param("cuit") String cuit);
+
+    List<Provider> findByCreatedBy(String createdBy);
 }
 
@@ -11,6 +11,8 @@ public interface ProviderService {
 
     List<Provider> getAllProvider();
 
+    List<Provider> getAllProviderByUser(String email);
+
     Provider getProviderById(Long id);
 
     boolean existProvider(Long id);
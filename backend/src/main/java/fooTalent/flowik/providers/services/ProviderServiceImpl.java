@@ -33,6 +33,11 @@ public class ProviderServiceImpl implements ProviderService {
         return providerRepository.findAll();
     }
 
+    @Override
+    public List<Provider> getAllProviderByUser(String email) {
+        return providerRepository.findByCreatedBy(email);
+    }
+
     @Override
     public Provider getProviderById(Long id) {
         return providerRepository.findById(id)
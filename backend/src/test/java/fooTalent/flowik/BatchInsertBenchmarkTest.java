@@ -0,0 +1,61 @@
+package fooTalent.flowik;
+
+import fooTalent.flowik.notifications.entities.Notification;
+import fooTalent.flowik.notifications.enums.NotificationType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+class BatchInsertBenchmarkTest extends MySqlIntegrationTest {
+
+    private static final int ROWS = 5_000;
+    private static final int FLUSH_EVERY = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void batchedInsertsOutperformRowByRowInserts() {
+        insert("warmup@flowik.local", 1, 500);
+        insert("warmup@flowik.local", FLUSH_EVERY, 500);
+
+        double rowByRow = insert("row-by-row@flowik.local", 1, ROWS);
+        double batched = insert("batched@flowik.local", FLUSH_EVERY, ROWS);
+
+        assertThat(batched).isGreaterThan(rowByRow);
+    }
+
+    private double insert(String email, int batchSize, int rows) {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(notification(email, i));
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private Notification notification(String email, long referenceId) {
+        Notification notification = new Notification();
+        notification.setTitle("Stock bajo");
+        notification.setDescription("Aviso");
+        notification.setType(NotificationType.STOCK);
+        notification.setReferenceId(referenceId);
+        notification.setCreatedBy(email);
+        return notification;
+    }
+}
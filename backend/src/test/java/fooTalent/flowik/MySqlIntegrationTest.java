@@ -0,0 +1,36 @@
+package fooTalent.flowik;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MySqlIntegrationTest {
+
+    @ServiceConnection
+    protected static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0.36")
+            .withUrlParam("rewriteBatchedStatements", "true");
+
+    static {
+        MYSQL.start();
+    }
+
+    protected void authenticate(String email) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,100 @@
+package fooTalent.flowik;
+
+import fooTalent.flowik.clients.repositories.ClientRepository;
+import fooTalent.flowik.notifications.repositories.NotificationRepository;
+import fooTalent.flowik.products.repositories.ProductRepository;
+import fooTalent.flowik.providers.repositories.ProviderRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+class TenantListingBenchmarkTest extends MySqlIntegrationTest {
+
+    private static final String TENANT = "tenant@flowik.local";
+    private static final int TENANT_ROWS = 200;
+    private static final int RUNS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private long nextId = 1_000_000;
+
+    @Test
+    void listingCostFollowsTenantSizeNotTableSize() {
+        seed(TENANT, TENANT_ROWS);
+        seed("other-0@flowik.local", 2_000);
+        Map<String, Long> small = measure();
+
+        for (int i = 1; i <= 9; i++) {
+            seed("other-" + i + "@flowik.local", 2_000);
+        }
+        Map<String, Long> large = measure();
+
+        for (String table : List.of("product", "client", "provider", "notification")) {
+            assertThat(large.get(table)).as(table + " listing micros").isLessThanOrEqualTo(small.get(table) * 3 + 500);
+            jdbcTemplate.execute("ANALYZE TABLE " + table);
+            Map<String, Object> plan = jdbcTemplate.queryForMap("EXPLAIN SELECT * FROM " + table + " WHERE created_by = ?", TENANT);
+            assertThat(plan.get("key")).as(table + " index").isNotNull();
+            assertThat(((Number) plan.get("rows")).longValue()).as(table + " rows examined").isLessThanOrEqualTo(TENANT_ROWS * 2L);
+        }
+    }
+
+    private Map<String, Long> measure() {
+        return Map.of(
+                "product", average(() -> productRepository.findByCreatedBy(TENANT).size()),
+                "client", average(() -> clientRepository.findByCreatedBy(TENANT).size()),
+                "provider", average(() -> providerRepository.findByCreatedBy(TENANT).size()),
+                "notification", average(() -> notificationRepository.findByCreatedBy(TENANT).size()));
+    }
+
+    private long average(Supplier<Integer> listing) {
+        assertThat(listing.get()).isEqualTo(TENANT_ROWS);
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            listing.get();
+        }
+        return (System.nanoTime() - start) / RUNS / 1_000;
+    }
+
+    private void seed(String email, int rows) {
+        List<Object[]> products = new ArrayList<>();
+        List<Object[]> clients = new ArrayList<>();
+        List<Object[]> providers = new ArrayList<>();
+        List<Object[]> notifications = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            long id = nextId++;
+            products.add(new Object[]{id, "Producto " + id, email});
+            clients.add(new Object[]{"Cliente " + id, "DOC-" + id, email});
+            providers.add(new Object[]{"Proveedor " + id, "CUIT-" + id, email});
+            notifications.add(new Object[]{id, id, email});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product (id, buy_date, name, amount, sell_price, category, is_active, " +
+                "low_stock_threshold, critical_stock_threshold, stock_level, created_by) " +
+                "VALUES (?, CURDATE(), ?, 100, 10.00, 'General', true, 15, 5, 'NORMAL', ?)", products);
+        jdbcTemplate.batchUpdate("INSERT INTO client (name_client, document_type, telephone_client, email_client, " +
+                "is_active, created_by) VALUES (?, ?, '1100000000', 'cliente@flowik.local', true, ?)", clients);
+        jdbcTemplate.batchUpdate("INSERT INTO provider (name_provider, cuit_provider, telephone_provider, email_provider, " +
+                "category_provider, is_active, created_by) VALUES (?, ?, '1100000000', 'proveedor@flowik.local', 'General', true, ?)",
+                providers);
+        jdbcTemplate.batchUpdate("INSERT INTO notification (id, title, description, generation_date, read_notification, " +
+                "type, reference_id, created_by) VALUES (?, 'Stock bajo', 'Aviso', CURDATE(), false, 'STOCK', ?, ?)",
+                notifications);
+    }
+}
@@ -0,0 +1,56 @@
+package fooTalent.flowik.config;
+
+import fooTalent.flowik.MySqlIntegrationTest;
+import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdSequenceAlignerTest extends MySqlIntegrationTest {
+
+    private static final String EMAIL = "aligner@flowik.local";
+
+    @Autowired
+    private IdSequenceAligner aligner;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void nextGeneratedIdIsAboveRowsInsertedOutsideHibernate() {
+        long sequence = jdbcTemplate.queryForObject("SELECT next_val FROM product_seq", Long.class);
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM product", Long.class);
+        long legacyId = Math.max(sequence, maxId) + 10_000;
+        jdbcTemplate.update("INSERT INTO product (id, buy_date, name, amount, sell_price, category, is_active, " +
+                "low_stock_threshold, critical_stock_threshold, stock_level, created_by) " +
+                "VALUES (?, CURDATE(), 'Legado', 100, 10.00, 'General', true, 15, 5, 'NORMAL', ?)", legacyId, EMAIL);
+
+        aligner.align();
+
+        long aligned = jdbcTemplate.queryForObject("SELECT next_val FROM product_seq", Long.class);
+        assertThat(aligned - 50).isGreaterThan(legacyId);
+
+        authenticate(EMAIL);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i <= 50; i++) {
+            Product product = new Product();
+            product.setName("Producto " + i);
+            product.setCategory("General");
+            product.setAmount(10);
+            product.setSellPrice(new BigDecimal("100.00"));
+            products.add(product);
+        }
+        List<Long> ids = productRepository.saveAll(products).stream().map(Product::getId).toList();
+
+        assertThat(ids).doesNotContain(legacyId);
+        assertThat(ids.get(ids.size() - 1)).isGreaterThan(legacyId);
+    }
+}
@@ -0,0 +1,79 @@
+package fooTalent.flowik.debts;
+
+import fooTalent.flowik.MySqlIntegrationTest;
+import fooTalent.flowik.debts.dto.AgingClientRow;
+import fooTalent.flowik.debts.dto.AgingReport;
+import fooTalent.flowik.debts.services.DebtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgingReportTest extends MySqlIntegrationTest {
+
+    private static final String EMAIL = "aging-report@flowik.local";
+    private static final LocalDate AS_OF = LocalDate.of(2026, 6, 30);
+
+    @Autowired
+    private DebtService debtService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long nextId = 3_000_000;
+
+    @Test
+    void bucketsBalancesOnTheBoundaryDaysAndIgnoresLaterPayments() {
+        long clientId = client("Cliente aging", "AGING-REPORT-1");
+        long day30 = debt(clientId, 30, "100.00");
+        debt(clientId, 31, "200.00");
+        debt(clientId, 60, "300.00");
+        debt(clientId, 61, "400.00");
+        debt(clientId, 90, "500.00");
+        long day91 = debt(clientId, 91, "600.00");
+        long future = debt(clientId, -1, "700.00");
+        payment(day30, "40.00", AS_OF);
+        payment(day30, "50.00", AS_OF.plusDays(1));
+        payment(day91, "600.00", AS_OF.plusDays(5));
+        payment(future, "10.00", AS_OF.plusDays(2));
+
+        long paidClientId = client("Cliente al día", "AGING-REPORT-2");
+        payment(debt(paidClientId, 45, "80.00"), "80.00", AS_OF.minusDays(1));
+
+        AgingReport report = debtService.getAgingReport(EMAIL, AS_OF);
+
+        assertThat(report.clients()).hasSize(1);
+        AgingClientRow row = report.clients().get(0);
+        assertThat(row.clientId()).isEqualTo(clientId);
+        assertThat(row.openDebts()).isEqualTo(6);
+        assertThat(row.bucket0To30()).isEqualByComparingTo("60.00");
+        assertThat(row.bucket31To60()).isEqualByComparingTo("500.00");
+        assertThat(row.bucket61To90()).isEqualByComparingTo("900.00");
+        assertThat(row.bucketOver90()).isEqualByComparingTo("600.00");
+        assertThat(row.total()).isEqualByComparingTo("2060.00");
+        assertThat(report.total()).isEqualByComparingTo("2060.00");
+    }
+
+    private long client(String name, String document) {
+        jdbcTemplate.update("INSERT INTO client (name_client, document_type, telephone_client, email_client, " +
+                "is_active, created_by) VALUES (?, ?, '1100000000', 'cliente@flowik.local', true, ?)",
+                name, document, EMAIL);
+        return jdbcTemplate.queryForObject("SELECT id_client FROM client WHERE document_type = ?", Long.class, document);
+    }
+
+    private long debt(long clientId, int daysBeforeAsOf, String mount) {
+        long id = nextId++;
+        jdbcTemplate.update("INSERT INTO debt (id, creation_date, mount, paid_amount, remaining, overdue_debt, " +
+                        "critical_debt, status, client_id, created_by, is_active) " +
+                        "VALUES (?, ?, ?, 0, ?, 30, 90, 'Impago', ?, ?, true)",
+                id, AS_OF.minusDays(daysBeforeAsOf), mount, mount, clientId, EMAIL);
+        return id;
+    }
+
+    private void payment(long debtId, String amount, LocalDate date) {
+        jdbcTemplate.update("INSERT INTO payments (id, payment_mount, date_payment, created_by, debt_id) " +
+                "VALUES (?, ?, ?, ?, ?)", nextId++, amount, date, EMAIL, debtId);
+    }
+}
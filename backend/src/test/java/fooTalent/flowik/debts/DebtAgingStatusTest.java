@@ -0,0 +1,84 @@
+package fooTalent.flowik.debts;
+
+import fooTalent.flowik.MySqlIntegrationTest;
+import fooTalent.flowik.debts.services.DebtService;
+import fooTalent.flowik.notifications.entities.Notification;
+import fooTalent.flowik.notifications.enums.NotificationType;
+import fooTalent.flowik.notifications.repositories.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DebtAgingStatusTest extends MySqlIntegrationTest {
+
+    private static final String EMAIL = "debt-aging@flowik.local";
+
+    @Autowired
+    private DebtService debtService;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void agesDebtsRefreshesBalancesAndCreatesEachAlertOnce() {
+        long clientId = client();
+        debt(2_000_001L, clientId, 100);
+        debt(2_000_002L, clientId, 40);
+        debt(2_000_003L, clientId, 10);
+
+        debtService.updateAccountStatus();
+
+        assertThat(status(2_000_001L)).isEqualTo("Critico");
+        assertThat(status(2_000_002L)).isEqualTo("Atrasado");
+        assertThat(status(2_000_003L)).isEqualTo("Impago");
+        assertThat(jdbcTemplate.queryForObject("SELECT worst_status FROM client_balance WHERE client_id = ?",
+                String.class, clientId)).isEqualTo("Critico");
+
+        List<Notification> alerts = alerts();
+        assertThat(alerts).extracting(Notification::getReferenceId, Notification::getTitle).containsExactlyInAnyOrder(
+                tuple(2_000_001L, "Alerta de deuda crítica"),
+                tuple(2_000_002L, "Alerta de deuda atrasada"));
+        assertThat(alerts.get(0).getDescription()).startsWith("¡Alerta! La deuda de 'Cliente moroso'");
+
+        Notification next = notificationRepository.save(Notification.builder()
+                .title("Aviso").description("Aviso").type(NotificationType.DEBT).createdBy(EMAIL).build());
+        assertThat(alerts).extracting(Notification::getId).doesNotContain(next.getId());
+
+        debtService.updateAccountStatus();
+        assertThat(alerts()).hasSize(2);
+    }
+
+    private long client() {
+        jdbcTemplate.update("INSERT INTO client (name_client, document_type, telephone_client, email_client, " +
+                "is_active, created_by) VALUES ('Cliente moroso', 'AGING-STATUS-1', '1100000000', " +
+                "'cliente@flowik.local', true, ?)", EMAIL);
+        return jdbcTemplate.queryForObject("SELECT id_client FROM client WHERE document_type = 'AGING-STATUS-1'",
+                Long.class);
+    }
+
+    private void debt(long id, long clientId, int daysAgo) {
+        jdbcTemplate.update("INSERT INTO debt (id, creation_date, mount, paid_amount, remaining, overdue_debt, " +
+                        "critical_debt, status, client_id, created_by, is_active) " +
+                        "VALUES (?, ?, 100.00, 0, 100.00, 30, 90, 'Impago', ?, ?, true)",
+                id, LocalDate.now().minusDays(daysAgo), clientId, EMAIL);
+    }
+
+    private String status(long debtId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM debt WHERE id = ?", String.class, debtId);
+    }
+
+    private List<Notification> alerts() {
+        return notificationRepository.findByCreatedByAndType(EMAIL, NotificationType.DEBT).stream()
+                .filter(notification -> notification.getReferenceId() != null)
+                .sorted(Comparator.comparing(Notification::getReferenceId))
+                .toList();
+    }
+}
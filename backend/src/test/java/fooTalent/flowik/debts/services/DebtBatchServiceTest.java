@@ -0,0 +1,86 @@
+package fooTalent.flowik.debts.services;
+
+import fooTalent.flowik.clients.repositories.ClientRepository;
+import fooTalent.flowik.clients.services.ClientBalanceService;
+import fooTalent.flowik.debts.dto.DebtBatchItem;
+import fooTalent.flowik.debts.dto.DebtBatchResponse;
+import fooTalent.flowik.debts.dto.DebtBatchResult;
+import fooTalent.flowik.debts.entities.Debt;
+import fooTalent.flowik.debts.repositories.DebtRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DebtBatchServiceTest {
+
+    private static final String EMAIL = "deudas@flowik.local";
+
+    private final DebtRepository debtRepository = mock(DebtRepository.class);
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final DebtBatchService service = new DebtBatchService(debtRepository, clientRepository,
+            mock(ClientBalanceService.class), new TransactionTemplate() {
+                @Override
+                public <T> T execute(TransactionCallback<T> action) {
+                    return action.doInTransaction(mock(TransactionStatus.class));
+                }
+            });
+
+    @Test
+    void rejectsMountsThatDoNotFitTheColumn() {
+        when(clientRepository.findOwnedIds(any(), eq(EMAIL))).thenReturn(List.of(1L));
+        when(debtRepository.saveAll(anyList())).thenAnswer(invocation -> withIds(invocation.getArgument(0)));
+
+        DebtBatchResponse response = service.createDebts(List.of(
+                new DebtBatchItem(1L, new BigDecimal("99999999.99")),
+                new DebtBatchItem(1L, new BigDecimal("100000000.00")),
+                new DebtBatchItem(1L, new BigDecimal("1E+9"))), EMAIL);
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.results()).extracting(DebtBatchResult::error).containsExactly(
+                null, "El monto no puede superar 99.999.999,99.", "El monto no puede superar 99.999.999,99.");
+    }
+
+    @Test
+    void retriesAFailedChunkRowByRowSoOnlyTheBadRowIsRejected() {
+        when(clientRepository.findOwnedIds(any(), eq(EMAIL))).thenReturn(List.of(1L, 2L, 3L));
+        when(debtRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("chunk"));
+        AtomicLong ids = new AtomicLong(100);
+        when(debtRepository.save(any(Debt.class))).thenAnswer(invocation -> {
+            Debt debt = invocation.getArgument(0);
+            if (debt.getMount().compareTo(new BigDecimal("2.00")) == 0) {
+                throw new DataIntegrityViolationException("row");
+            }
+            debt.setId(ids.incrementAndGet());
+            return debt;
+        });
+
+        DebtBatchResponse response = service.createDebts(List.of(
+                new DebtBatchItem(1L, new BigDecimal("1.00")),
+                new DebtBatchItem(2L, new BigDecimal("2.00")),
+                new DebtBatchItem(3L, new BigDecimal("3.00"))), EMAIL);
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(1);
+        assertThat(response.results()).extracting(DebtBatchResult::debtId).containsExactly(101L, null, 102L);
+        assertThat(response.results().get(1).error()).isEqualTo("No se pudo registrar la deuda.");
+    }
+
+    private List<Debt> withIds(List<Debt> debts) {
+        long id = 1;
+        for (Debt debt : debts) debt.setId(id++);
+        return debts;
+    }
+}
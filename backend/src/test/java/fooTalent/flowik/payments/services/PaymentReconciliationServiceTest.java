@@ -0,0 +1,152 @@
+package fooTalent.flowik.payments.services;
+
+import fooTalent.flowik.clients.dto.ClientDocument;
+import fooTalent.flowik.clients.repositories.ClientRepository;
+import fooTalent.flowik.clients.services.ClientBalanceService;
+import fooTalent.flowik.debts.repositories.DebtRepository;
+import fooTalent.flowik.debts.entities.Debt;
+import fooTalent.flowik.payments.Repository.PaymentRepository;
+import fooTalent.flowik.payments.Repository.ReconciledMovementRepository;
+import fooTalent.flowik.payments.dto.ReconciliationReport;
+import fooTalent.flowik.payments.dto.ReconciliationRow;
+import fooTalent.flowik.payments.entities.ReconciledMovement;
+import fooTalent.flowik.products.services.FileParserService;
+import fooTalent.flowik.products.services.TableRowCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PaymentReconciliationServiceTest {
+
+    private static final String EMAIL = "conciliacion@flowik.local";
+
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final FileParserService fileParserService = new FileParserService(1, 1);
+    private final PaymentReconciliationService service = new PaymentReconciliationService(
+            mock(PaymentRepository.class), mock(ReconciledMovementRepository.class), mock(DebtRepository.class),
+            clientRepository, mock(ClientBalanceService.class), mock(TransactionTemplate.class), 1, 100);
+
+    private final DebtRepository debtRepository = mock(DebtRepository.class);
+    private final ReconciledMovementRepository reconciledRepository = mock(ReconciledMovementRepository.class);
+    private final PaymentReconciliationService batchedService = new PaymentReconciliationService(
+            mock(PaymentRepository.class), reconciledRepository, debtRepository, clientRepository,
+            mock(ClientBalanceService.class), new TransactionTemplate() {
+                @Override
+                public <T> T execute(TransactionCallback<T> action) {
+                    return action.doInTransaction(mock(TransactionStatus.class));
+                }
+            }, 3, 1);
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+        batchedService.shutdown();
+        fileParserService.shutdown();
+    }
+
+    @Test
+    void reportsAFailedBatchAsRejectedAndKeepsTheOthersApplied() throws IOException {
+        when(clientRepository.findByDocuments(any(), eq(EMAIL))).thenReturn(List.of(
+                new ClientDocument(1L, "D1"), new ClientDocument(2L, "D2"),
+                new ClientDocument(3L, "D3"), new ClientDocument(4L, "D4")));
+        when(debtRepository.existsActiveDebtByClientId(anyLong())).thenAnswer(invocation -> invocation.getArgument(0, Long.class) != 2L);
+        when(debtRepository.findOpenDebtsForUpdate(1L)).thenReturn(List.of(openDebt("100.00")));
+        when(debtRepository.findOpenDebtsForUpdate(3L)).thenThrow(new PessimisticLockingFailureException("lock"));
+        when(debtRepository.findOpenDebtsForUpdate(4L)).thenReturn(List.of(openDebt("30.00")));
+
+        Set<String> reconciled = ConcurrentHashMap.newKeySet();
+        when(reconciledRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ReconciledMovement> movements = invocation.getArgument(0);
+            movements.forEach(movement -> reconciled.add(movement.getHash()));
+            return movements;
+        });
+        when(reconciledRepository.findExistingHashes(any())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).stream().filter(reconciled::contains).toList());
+
+        String csv = """
+                documento,monto
+                D1,"60,00"
+                D1,"50,00"
+                D2,"10,00"
+                D3,"20,00"
+                D4,"30,00"
+                """;
+        ReconciliationReport report = batchedService.reconcile(statement(csv), EMAIL);
+
+        assertThat(report.applied()).isEqualTo(2);
+        assertThat(report.appliedAmount()).isEqualByComparingTo("90.00");
+        assertThat(report.rejected()).extracting(ReconciliationRow::row, ReconciliationRow::error).containsExactly(
+                tuple(3, "El pago no puede ser mayor al total de la deuda pendiente: 40.00"),
+                tuple(4, "Deuda inexistente"),
+                tuple(5, "No se pudo aplicar el pago, inténtalo de nuevo."));
+
+        ReconciliationReport again = batchedService.reconcile(statement(csv), EMAIL);
+
+        assertThat(again.applied()).isZero();
+        assertThat(again.rejected()).filteredOn(row -> row.error().equals("Este movimiento ya fue conciliado."))
+                .extracting(ReconciliationRow::row).containsExactly(2, 6);
+    }
+
+    @Test
+    void reportsAmbiguousAmountsAsInvalid() throws IOException {
+        ReconciliationReport report = service.reconcile(statement("""
+                documento,monto
+                20111222,"1.500"
+                20111222,"1,500"
+                20111222,"12,345"
+                20111222,"0,001"
+                """), EMAIL);
+
+        assertThat(report.applied()).isZero();
+        assertThat(report.unmatched()).extracting(ReconciliationRow::error).containsExactly(
+                "Monto inválido: 1.500", "Monto inválido: 1,500", "Monto inválido: 12,345", "Monto inválido: 0,001");
+    }
+
+    @Test
+    void reportsDocumentsSharedByTwoClientsAsAmbiguous() throws IOException {
+        when(clientRepository.findByDocuments(any(), eq(EMAIL))).thenReturn(List.of(
+                new ClientDocument(1L, "20111222"), new ClientDocument(2L, "20111222")));
+
+        ReconciliationReport report = service.reconcile(statement("""
+                documento,monto
+                20111222,"1.500,00"
+                """), EMAIL);
+
+        assertThat(report.clients()).isZero();
+        assertThat(report.unmatched()).singleElement().satisfies(row -> {
+            assertThat(row.amount()).isEqualByComparingTo("1500.00");
+            assertThat(row.error()).isEqualTo("Hay más de un cliente con ese documento.");
+        });
+    }
+
+    private Debt openDebt(String remaining) {
+        Debt debt = new Debt();
+        debt.setRemaining(new BigDecimal(remaining));
+        return debt;
+    }
+
+    private TableRowCursor statement(String csv) throws IOException {
+        return fileParserService.openCursor("extracto.csv", new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,99 @@
+package fooTalent.flowik.products;
+
+import fooTalent.flowik.MySqlIntegrationTest;
+import fooTalent.flowik.products.dto.ProductList;
+import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.repositories.ProductRepository;
+import fooTalent.flowik.products.services.ProductService;
+import fooTalent.flowik.providers.entities.Provider;
+import fooTalent.flowik.providers.repositories.ProviderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductListQueryCountTest extends MySqlIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void listingRunsTheSameNumberOfQueriesForAnyCatalogSize() {
+        long small = countQueries("small-catalog@flowik.local", 5);
+        long large = countQueries("large-catalog@flowik.local", 100);
+
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void pageMappingRunsOneQueryForProviderNames() {
+        String email = "page-mapping@flowik.local";
+        seed(email, 40);
+        List<Product> products = productRepository.findByCreatedBy(email);
+
+        statistics.clear();
+        List<ProductList> lists = productService.toProductLists(products);
+
+        assertThat(lists).hasSize(40).allSatisfy(list -> assertThat(list.providers()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private long countQueries(String email, int products) {
+        seed(email, products);
+
+        statistics.clear();
+        List<ProductList> lists = productService.getProductListByUser(email);
+
+        assertThat(lists).hasSize(products).allSatisfy(list -> assertThat(list.providers()).hasSize(2));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(String email, int count) {
+        authenticate(email);
+        List<Provider> providers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Provider provider = new Provider();
+            provider.setName_provider("Proveedor " + i);
+            provider.setCuit_provider("CUIT-" + Math.abs(email.hashCode()) + "-" + i);
+            provider.setTelephone_provider("1100000000");
+            provider.setEmail_provider("proveedor@flowik.local");
+            provider.setCategory_provider("General");
+            providers.add(providerRepository.save(provider));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName("Producto " + i);
+            product.setCategory("General");
+            product.setAmount(10);
+            product.setSellPrice(new BigDecimal("100.00"));
+            product.setProviders(new ArrayList<>(providers));
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+    }
+}
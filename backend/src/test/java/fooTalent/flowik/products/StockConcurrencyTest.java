@@ -0,0 +1,102 @@
+package fooTalent.flowik.products;
+
+import fooTalent.flowik.MySqlIntegrationTest;
+import fooTalent.flowik.products.dto.StockMovement;
+import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.repositories.ProductRepository;
+import fooTalent.flowik.products.repositories.StockLedgerRepository;
+import fooTalent.flowik.products.services.StockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockConcurrencyTest extends MySqlIntegrationTest {
+
+    private static final String EMAIL = "stock-stress@flowik.local";
+    private static final int PRODUCTS = 4;
+    private static final int THREADS = 16;
+    private static final int MOVEMENTS_PER_THREAD = 200;
+    private static final int INITIAL_AMOUNT = 1_000;
+
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private StockLedgerRepository ledgerRepository;
+
+    @Test
+    void finalStockEqualsInitialPlusSumOfConcurrentDeltas() throws Exception {
+        List<Long> ids = seed();
+        AtomicLongArray applied = new AtomicLongArray(PRODUCTS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            futures.add(executor.submit(() -> {
+                authenticate(EMAIL);
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < MOVEMENTS_PER_THREAD; i++) {
+                    int index = random.nextInt(PRODUCTS);
+                    int delta = random.nextInt(21) - 10;
+                    if (i % 2 == 0) {
+                        stockService.adjustStock(ids.get(index), delta);
+                        applied.addAndGet(index, delta);
+                    } else {
+                        int other = (index + 1) % PRODUCTS;
+                        int otherDelta = random.nextInt(21) - 10;
+                        stockService.adjustStockBatch(List.of(
+                                new StockMovement(ids.get(other), otherDelta),
+                                new StockMovement(ids.get(index), delta)), EMAIL);
+                        applied.addAndGet(index, delta);
+                        applied.addAndGet(other, otherDelta);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            Long id = ids.get(i);
+            int amount = productRepository.findById(id).orElseThrow().getAmount();
+            long ledger = ledgerRepository.sumDeltaSince(id, LocalDate.of(2000, 1, 1).atStartOfDay());
+
+            assertThat(amount).isEqualTo(INITIAL_AMOUNT + applied.get(i));
+            assertThat(ledger).isEqualTo(applied.get(i));
+        }
+    }
+
+    private List<Long> seed() {
+        authenticate(EMAIL);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Producto " + i);
+            product.setCategory("General");
+            product.setAmount(INITIAL_AMOUNT);
+            product.setSellPrice(new BigDecimal("100.00"));
+            products.add(product);
+        }
+        return productRepository.saveAll(products).stream().map(Product::getId).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package fooTalent.flowik.products;
+
+import fooTalent.flowik.MySqlIntegrationTest;
+import fooTalent.flowik.products.entities.Product;
+import fooTalent.flowik.products.entities.StockSnapshot;
+import fooTalent.flowik.products.repositories.ProductRepository;
+import fooTalent.flowik.products.repositories.StockSnapshotRepository;
+import fooTalent.flowik.products.services.StockLedgerService;
+import fooTalent.flowik.products.services.StockService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockSnapshotTest extends MySqlIntegrationTest {
+
+    private static final String EMAIL = "stock-snapshot@flowik.local";
+
+    @Autowired
+    private StockService stockService;
+    @Autowired
+    private StockLedgerService ledgerService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private StockSnapshotRepository snapshotRepository;
+
+    @Test
+    void snapshotsOnlyProductsWithMovementsSinceTheirLastSnapshot() {
+        authenticate(EMAIL);
+        Long moved = product("Movido").getId();
+        Long idle = product("Quieto").getId();
+
+        stockService.adjustStock(moved, 5);
+        ledgerService.takeSnapshots();
+
+        assertThat(snapshotsOf(moved)).extracting(StockSnapshot::getAmount).containsExactly(15);
+        assertThat(snapshotsOf(idle)).isEmpty();
+
+        ledgerService.takeSnapshots();
+        assertThat(snapshotsOf(moved)).hasSize(1);
+
+        stockService.adjustStock(moved, -3);
+        ledgerService.takeSnapshots();
+        assertThat(snapshotsOf(moved)).extracting(StockSnapshot::getAmount).containsExactlyInAnyOrder(15, 12);
+        assertThat(snapshotsOf(idle)).isEmpty();
+    }
+
+    private Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setCategory("General");
+        product.setAmount(10);
+        product.setSellPrice(new BigDecimal("100.00"));
+        return productRepository.save(product);
+    }
+
+    private List<StockSnapshot> snapshotsOf(Long productId) {
+        return snapshotRepository.findAll().stream()
+                .filter(snapshot -> snapshot.getProductId().equals(productId))
+                .toList();
+    }
+}
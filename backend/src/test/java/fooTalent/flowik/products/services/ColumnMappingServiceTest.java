@@ -0,0 +1,73 @@
+package fooTalent.flowik.products.services;
+
+import fooTalent.flowik.products.dto.TableRow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnMappingServiceTest {
+
+    private static final List<String> HEADERS = List.of("nombre", "descripcion", "categoria", "cantidad", "precio");
+
+    private final ColumnMappingService service = new ColumnMappingService();
+
+    @Test
+    void parsesPriceWithDecimalComma() {
+        assertThat(service.parsePrice("1.500,50")).isEqualByComparingTo("1500.50");
+    }
+
+    @Test
+    void parsesPriceWithDecimalPoint() {
+        assertThat(service.parsePrice("12.5")).isEqualByComparingTo("12.50");
+    }
+
+    @Test
+    void leavesThousandsLikeDotUnresolved() {
+        assertThat(service.parsePrice("1.500")).isNull();
+    }
+
+    @Test
+    void leavesThousandsLikeCommaUnresolved() {
+        assertThat(service.parsePrice("1,500")).isNull();
+    }
+
+    @Test
+    void parsesRepeatedGroupingAndCurrency() {
+        assertThat(service.parsePrice("$ 1.500.000")).isEqualByComparingTo("1500000");
+        assertThat(service.parsePrice("0.500")).isEqualByComparingTo("0.50");
+    }
+
+    @Test
+    void sendsRowsWithAmbiguousPricesToTheModel() {
+        ColumnMappingService.ColumnMapping mapping = service.inferMapping(HEADERS, List.of(
+                row(1, "10", "1500,50"), row(2, "5", "1.500"))).orElseThrow();
+
+        ColumnMappingService.RowResolution resolved = service.resolve(mapping, row(1, "10", "1500,50"));
+        ColumnMappingService.RowResolution ambiguous = service.resolve(mapping, row(2, "5", "1.500"));
+
+        assertThat(resolved.valid().getSellPrice()).isEqualByComparingTo(new BigDecimal("1500.50"));
+        assertThat(ambiguous.valid()).isNull();
+        assertThat(ambiguous.invalid()).isNull();
+    }
+
+    @Test
+    void doesNotGuessTheAmountColumnFromIntegerCodes() {
+        List<String> headers = List.of("nombre", "descripcion", "categoria", "codigo", "precio");
+
+        assertThat(service.inferMapping(headers, List.of(row(1, "7790001", "10,50")))).isEmpty();
+    }
+
+    @Test
+    void rejectsHugeExponentsBeforeScaling() {
+        assertThat(service.parsePrice("1e99999999")).isNull();
+        assertThat(service.parsePrice("1.5E+3")).isEqualByComparingTo("1500.00");
+    }
+
+    private TableRow row(int number, String amount, String price) {
+        return new TableRow(number, List.of("Alimento balanceado", "Bolsa de alimento para perros adultos",
+                "Alimentos", amount, price));
+    }
+}
@@ -0,0 +1,115 @@
+package fooTalent.flowik.products.services;
+
+import fooTalent.flowik.products.dto.TableRow;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileParserServicePdfTest {
+
+    private static final int PAGES = 200;
+    private static final int LINES_PER_PAGE = 40;
+
+    private final FileParserService parallel = new FileParserService(4, 10);
+    private final FileParserService sequential = new FileParserService(1, Integer.MAX_VALUE);
+    private final FileParserService uneven = new FileParserService(3, 7);
+
+    @AfterEach
+    void shutdown() {
+        parallel.shutdown();
+        sequential.shutdown();
+        uneven.shutdown();
+    }
+
+    @Test
+    void mergesPageRangesInPageOrder() throws IOException {
+        byte[] pdf = catalog();
+
+        List<TableRow> rows = read(parallel, pdf);
+
+        assertThat(rows).hasSize(PAGES * LINES_PER_PAGE);
+        for (int i = 0; i < rows.size(); i++) {
+            int page = i / LINES_PER_PAGE + 1;
+            int line = i % LINES_PER_PAGE + 1;
+            assertThat(rows.get(i).values().get(0)).isEqualTo(code(page, line));
+        }
+        assertThat(rows).isEqualTo(read(sequential, pdf));
+    }
+
+    @Test
+    void parallelExtractionMatchesSequentialExtraction() throws IOException {
+        byte[] pdf = catalog();
+
+        assertThat(read(parallel, pdf)).isEqualTo(read(sequential, pdf));
+        assertThat(read(uneven, pdf)).isEqualTo(read(sequential, pdf));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void parallelExtractionIsNotSlowerThanSequential() throws IOException {
+        byte[] pdf = catalog();
+        read(parallel, pdf);
+        read(sequential, pdf);
+
+        long sequentialMillis = time(sequential, pdf);
+        long parallelMillis = time(parallel, pdf);
+
+        assertThat(parallelMillis).isLessThanOrEqualTo(sequentialMillis);
+    }
+
+    private long time(FileParserService parser, byte[] pdf) throws IOException {
+        long start = System.nanoTime();
+        read(parser, pdf);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private List<TableRow> read(FileParserService parser, byte[] pdf) throws IOException {
+        List<TableRow> rows = new ArrayList<>();
+        try (TableRowCursor cursor = parser.openCursor("catalogo.pdf", new ByteArrayInputStream(pdf))) {
+            cursor.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+
+    private byte[] catalog() throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int page = 1; page <= PAGES; page++) {
+                PDPage pdPage = new PDPage();
+                document.addPage(pdPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.COURIER, 9);
+                    content.setLeading(11);
+                    content.newLineAtOffset(40, 750);
+                    if (page == 1) {
+                        content.showText("codigo    categoria    cantidad    precio");
+                        content.newLine();
+                    }
+                    for (int line = 1; line <= LINES_PER_PAGE; line++) {
+                        content.showText(code(page, line) + "    Alimentos    " + line + "    " + page + ".50");
+                        content.newLine();
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private String code(int page, int line) {
+        return String.format("P%03d-L%02d", page, line);
+    }
+}
@@ -0,0 +1,67 @@
+package fooTalent.flowik.products.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class StockAlertQueueTest {
+
+    private final StockService stockService = mock(StockService.class);
+    private final StockAlertQueue queue = new StockAlertQueue(stockService);
+    private final List<Map<Long, Integer>> evaluated = new ArrayList<>();
+
+    @Test
+    void isolatesFailingProductsAndGivesUpAfterMaxAttempts() {
+        failWhenEvaluating(2L, () -> { });
+        queue.onStockChanged(new StockChangedEvent(List.of(
+                new StockChangedEvent.Change(1L, 10),
+                new StockChangedEvent.Change(2L, 20),
+                new StockChangedEvent.Change(3L, 30))));
+
+        for (int i = 0; i < StockAlertQueue.MAX_ATTEMPTS + 2; i++) {
+            queue.flush();
+        }
+
+        assertThat(evaluated).containsOnlyOnce(Map.of(1L, 10), Map.of(3L, 30));
+        assertThat(evaluated).filteredOn(batch -> batch.containsKey(2L)).hasSize(StockAlertQueue.MAX_ATTEMPTS * 2);
+        assertThat(queue.discarded()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsTheOldestBaselineWhenRequeueingAFailedProduct() {
+        AtomicBoolean moved = new AtomicBoolean();
+        failWhenEvaluating(1L, () -> {
+            if (moved.compareAndSet(false, true)) queue.onStockChanged(StockChangedEvent.of(1L, 7));
+        });
+        queue.onStockChanged(StockChangedEvent.of(1L, 10));
+
+        queue.flush();
+        evaluated.clear();
+        queue.flush();
+
+        assertThat(evaluated).isNotEmpty().filteredOn(batch -> batch.containsKey(1L))
+                .extracting(batch -> batch.get(1L))
+                .containsOnly(10);
+    }
+
+    private void failWhenEvaluating(Long productId, Runnable onFailure) {
+        doAnswer(invocation -> {
+            Map<Long, Integer> batch = new HashMap<>(invocation.getArgument(0));
+            evaluated.add(batch);
+            if (batch.containsKey(productId)) {
+                onFailure.run();
+                throw new IllegalStateException("fallo");
+            }
+            return null;
+        }).when(stockService).evaluateStockChanges(anyMap());
+    }
+}
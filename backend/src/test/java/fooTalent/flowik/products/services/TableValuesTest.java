@@ -0,0 +1,58 @@
+package fooTalent.flowik.products.services;
+
+import fooTalent.flowik.products.dto.TableRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableValuesTest {
+
+    @Test
+    void parsesUnambiguousAmounts() {
+        assertThat(TableValues.parseDecimal("1.500,50")).isEqualByComparingTo("1500.50");
+        assertThat(TableValues.parseDecimal("1,500.50")).isEqualByComparingTo("1500.50");
+        assertThat(TableValues.parseDecimal("12,5")).isEqualByComparingTo("12.5");
+        assertThat(TableValues.parseDecimal("ARS 2.000.000")).isEqualByComparingTo("2000000");
+        assertThat(TableValues.parseDecimal("-0,75")).isEqualByComparingTo("-0.75");
+    }
+
+    @Test
+    void rejectsAmbiguousOrMalformedAmounts() {
+        assertThat(TableValues.parseDecimal("1.500")).isNull();
+        assertThat(TableValues.parseDecimal("1,500")).isNull();
+        assertThat(TableValues.parseDecimal("1.500,50,25")).isNull();
+        assertThat(TableValues.parseDecimal("abc")).isNull();
+        assertThat(TableValues.parseDecimal("")).isNull();
+    }
+
+    @Test
+    void boundsExponentNotation() {
+        assertThat(TableValues.parseDecimal("1.5E+3")).isEqualByComparingTo("1500");
+        assertThat(TableValues.parseDecimal("1.23457E+11")).isEqualByComparingTo("123457000000");
+        assertThat(TableValues.parseDecimal("1e99999999")).isNull();
+        assertThat(TableValues.parseDecimal("1e99")).isNull();
+        assertThat(TableValues.parseDecimal("1e-99")).isNull();
+    }
+
+    @Test
+    void findsColumnsIgnoringCaseAndPunctuation() {
+        List<String> headers = Arrays.asList(null, "ID Cliente", "Monto ($)");
+
+        assertThat(TableValues.column(headers, Set.of("idcliente"))).isEqualTo(1);
+        assertThat(TableValues.column(headers, Set.of("monto"))).isEqualTo(2);
+        assertThat(TableValues.column(headers, Set.of("documento"))).isEqualTo(-1);
+    }
+
+    @Test
+    void readsMissingCellsAsEmpty() {
+        TableRow row = new TableRow(2, Arrays.asList(" 42 ", null));
+
+        assertThat(TableValues.cell(row, 0)).isEqualTo("42");
+        assertThat(TableValues.cell(row, 1)).isEmpty();
+        assertThat(TableValues.cell(row, 5)).isEmpty();
+    }
+}
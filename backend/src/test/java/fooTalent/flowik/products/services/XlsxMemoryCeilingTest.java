@@ -0,0 +1,89 @@
+package fooTalent.flowik.products.services;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+class XlsxMemoryCeilingTest {
+
+    private static final int ROWS = 500_000;
+    private static final String MAX_HEAP = "-Xmx64m";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void streamsLargeWorkbookUnderSmallHeap() throws Exception {
+        Path file = tempDir.resolve("catalogo.xlsx");
+        generate(file);
+
+        Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                MAX_HEAP,
+                "-cp", System.getProperty("java.class.path"),
+                Probe.class.getName(),
+                file.toString(),
+                String.valueOf(ROWS))
+                .redirectErrorStream(true)
+                .start();
+
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        assertThat(process.waitFor(5, TimeUnit.MINUTES)).isTrue();
+        assertThat(process.exitValue()).as(output).isZero();
+    }
+
+    private void generate(Path file) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("Productos");
+            Row header = sheet.createRow(0);
+            List<String> headers = List.of("nombre", "descripcion", "categoria", "cantidad", "precio");
+            for (int i = 0; i < headers.size(); i++) {
+                header.createCell(i).setCellValue(headers.get(i));
+            }
+            for (int r = 1; r <= ROWS; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("Producto " + r);
+                row.createCell(1).setCellValue("Descripción del producto número " + r);
+                row.createCell(2).setCellValue("Categoría " + (r % 50));
+                row.createCell(3).setCellValue(r % 1000);
+                row.createCell(4).setCellValue(r * 1.25);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+
+    static final class Probe {
+
+        public static void main(String[] args) throws Exception {
+            FileParserService parser = new FileParserService(1, 20);
+            int rows = 0;
+            try (InputStream in = Files.newInputStream(Path.of(args[0]));
+                 TableRowCursor cursor = parser.openCursor(args[0], in)) {
+                while (cursor.hasNext()) {
+                    cursor.next();
+                    rows++;
+                }
+            } finally {
+                parser.shutdown();
+            }
+            System.exit(rows == Integer.parseInt(args[1]) ? 0 : 2);
+        }
+    }
+}